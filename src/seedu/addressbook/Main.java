@@ -4,14 +4,19 @@ import seedu.addressbook.data.person.ReadOnlyPerson;
 import seedu.addressbook.storage.StorageFile.*;
 
 import seedu.addressbook.commands.*;
+import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.parser.Parser;
+import seedu.addressbook.storage.JournalFile;
+import seedu.addressbook.storage.JournalFile.CompactionFailedException;
+import seedu.addressbook.storage.MappedAddressBookFile;
+import seedu.addressbook.storage.SaveStatistics;
 import seedu.addressbook.storage.StorageFile;
+import seedu.addressbook.storage.WriteBehindPersister;
 import seedu.addressbook.ui.TextUi;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 
 /**
@@ -23,10 +28,56 @@ public class Main {
     /** Version info of the program. */
     public static final String VERSION = "AddessBook Level 2 - Version 1.0";
 
+    /** Launch option to append changes to a journal instead of rewriting the storage file after every command. */
+    public static final String LAUNCH_OPTION_JOURNAL = "--journal";
+
+    /** Launch option to write the storage file without line breaks and indentation. */
+    public static final String LAUNCH_OPTION_COMPACT = "--compact";
+
+    /**
+     * Prefix of the launch option choosing how much effort saves make to survive crashes, followed by the name of a
+     * {@link Durability} level in any case, e.g. {@code --durability=none}.
+     */
+    public static final String LAUNCH_OPTION_DURABILITY = "--durability=";
+
+    /** Launch option to save the storage file on a background thread instead of waiting for each save. */
+    public static final String LAUNCH_OPTION_WRITE_BEHIND = "--write-behind";
+
+    /** Launch option to refuse adding or importing a person whose phone number already belongs to another person. */
+    public static final String LAUNCH_OPTION_UNIQUE_PHONES = "--unique-phones";
+
+    /**
+     * Launch option to map a binary storage file instead of loading it, so that start up takes no time whatever
+     * the size of the file. Listing and finding persons by name read the mapped file until another command needs
+     * the address book loaded. Has no effect together with {@link #LAUNCH_OPTION_JOURNAL}.
+     */
+    public static final String LAUNCH_OPTION_MAPPED = "--mapped";
+
     private TextUi ui;
     private StorageFile storage;
+    /** The loaded address book, or null while the storage file is only mapped. */
     private AddressBook addressBook;
 
+    /** The storage file mapped instead of loaded, or null once the address book has been loaded. */
+    private MappedAddressBookFile mappedFile;
+
+    private boolean isRejectingDuplicatePhones;
+
+    /** The journal recording changes to the address book, or null if not running with a journal. */
+    private JournalFile journal;
+
+    /** Saves the address book in the background, or null if saves are done by the command loop itself. */
+    private WriteBehindPersister persister;
+
+    /** The address book as it was when the current batch began, or null if no batch is in progress. */
+    private AddressBook preBatchState;
+
+    /** Modification count of the address book when it was last persisted. */
+    private long savedModificationCount;
+
+    /** Counts of saves performed and skipped so far, shown by {@link StatsCommand}. */
+    private final SaveStatistics saveStatistics = new SaveStatistics();
+
     /** The list of person shown to the user most recently.  */
     private List<? extends ReadOnlyPerson> lastShownList = Collections.emptyList();
 
@@ -51,11 +102,32 @@ public class Main {
     private void start(String[] launchArgs) {
         try {
             this.ui = new TextUi();
-            this.storage = initializeStorage(launchArgs);
-            this.addressBook = storage.load();
+            final List<String> launchArgList = new ArrayList<>(Arrays.asList(launchArgs));
+            final boolean isJournalEnabled = launchArgList.remove(LAUNCH_OPTION_JOURNAL);
+            final boolean isOutputCompact = launchArgList.remove(LAUNCH_OPTION_COMPACT);
+            final Durability durability = removeDurabilityOption(launchArgList);
+            final boolean isWriteBehindEnabled = launchArgList.remove(LAUNCH_OPTION_WRITE_BEHIND);
+            final boolean isMappingEnabled = launchArgList.remove(LAUNCH_OPTION_MAPPED);
+            this.isRejectingDuplicatePhones = launchArgList.remove(LAUNCH_OPTION_UNIQUE_PHONES);
+            this.storage = initializeStorage(launchArgList);
+            storage.setOutputCompact(isOutputCompact);
+            storage.setDurability(durability);
+            if (isJournalEnabled) {
+                this.journal = new JournalFile(storage);
+                setAddressBook(journal.load());
+            } else {
+                if (isMappingEnabled && storage.canBeMapped()) {
+                    this.mappedFile = storage.openMapped();
+                } else {
+                    setAddressBook(storage.load());
+                }
+                if (isWriteBehindEnabled) {
+                    this.persister = new WriteBehindPersister(storage);
+                }
+            }
             ui.showWelcomeMessage(VERSION, storage.getPath());
 
-        } catch (InvalidStorageFilePathException | StorageOperationException e) {
+        } catch (IllegalValueException | StorageOperationException e) {
             ui.showInitFailedMessage();
             /*
              * ==============NOTE TO STUDENTS=========================================================================
@@ -70,8 +142,42 @@ public class Main {
         }
     }
 
-    /** Prints the Goodbye message and exits. */
+    private void setAddressBook(AddressBook loaded) {
+        this.addressBook = loaded;
+        addressBook.setRejectingDuplicatePhones(isRejectingDuplicatePhones);
+        this.savedModificationCount = addressBook.getModificationCount();
+    }
+
+    /**
+     * Loads the address book from the storage file that was only mapped so far, for a command that needs it.
+     * Persons shown from the mapped file can still be picked from the last shown list, as persons are compared by
+     * value.
+     */
+    private void loadMappedFile() throws StorageOperationException {
+        setAddressBook(storage.load());
+        mappedFile = null;
+    }
+
+    /** Discards any uncommitted batch, writes out outstanding changes, prints the Goodbye message and exits. */
     private void exit() {
+        if (isBatchInProgress()) {
+            ui.showToUser(rollbackBatch(Messages.MESSAGE_BATCH_DISCARDED_ON_EXIT).feedbackToUser);
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (StorageOperationException e) {
+                ui.showToUser(e.getMessage());
+            }
+        }
+        if (persister != null) {
+            try {
+                saveChangesAndWait();
+                persister.close();
+            } catch (StorageOperationException e) {
+                ui.showToUser(e.getMessage());
+            }
+        }
         ui.showGoodbyeMessage();
         System.exit(0);
     }
@@ -105,9 +211,23 @@ public class Main {
      */
     private CommandResult executeCommand(Command command)  {
         try {
+            if (mappedFile != null) {
+                if (command.canExecuteOnMappedFile()) {
+                    return command.executeOnMappedFile(mappedFile);
+                }
+                loadMappedFile();
+            }
+            if (isBatchCommand(command)) {
+                return executeBatchCommand(command);
+            }
+            if (StatsCommand.isStats(command)) {
+                ((StatsCommand) command).setSaveData(saveStatistics, persister);
+            }
             command.setData(addressBook, lastShownList);
             CommandResult result = command.execute();
-            storage.save(addressBook);
+            if (!isBatchInProgress()) {
+                saveChanges();
+            }
             return result;
         } catch (Exception e) {
             ui.showToUser(e.getMessage());
@@ -115,14 +235,144 @@ public class Main {
         }
     }
 
+    private static boolean isBatchCommand(Command command) {
+        return BeginCommand.isBegin(command) || CommitCommand.isCommit(command) || RollbackCommand.isRollback(command);
+    }
+
+    private boolean isBatchInProgress() {
+        return preBatchState != null;
+    }
+
+    /**
+     * Starts, commits or rolls back a batch. While a batch is in progress, changes are not persisted.
+     * Committing waits until the changes are saved, and if that fails, the batch is rolled back.
+     *
+     * @param command a command for which {@link #isBatchCommand(Command)} is true
+     */
+    private CommandResult executeBatchCommand(Command command) {
+        if (BeginCommand.isBegin(command)) {
+            if (isBatchInProgress()) {
+                return new CommandResult(Messages.MESSAGE_BATCH_ALREADY_IN_PROGRESS);
+            }
+            preBatchState = new AddressBook(addressBook);
+            if (journal != null) {
+                journal.setSavepoint();
+            }
+        } else if (!isBatchInProgress()) {
+            return new CommandResult(Messages.MESSAGE_NO_BATCH_IN_PROGRESS);
+        } else if (CommitCommand.isCommit(command)) {
+            try {
+                saveChangesAndWait();
+            } catch (CompactionFailedException cfe) {
+                preBatchState = null;
+                return new CommandResult(String.format(CommitCommand.MESSAGE_SAVED_WITH_ERROR, cfe.getMessage()));
+            } catch (StorageOperationException soe) {
+                return rollbackBatch(String.format(CommitCommand.MESSAGE_FAILED, soe.getMessage()));
+            }
+            preBatchState = null;
+        } else {
+            return rollbackBatch(RollbackCommand.MESSAGE_SUCCESS);
+        }
+        command.setData(addressBook, lastShownList);
+        return command.execute();
+    }
+
+    /**
+     * Restores the address book to its state when the current batch began, and ends the batch.
+     * The changes made in the batch were never persisted, so nothing is persisted for undoing them either:
+     * they are dropped from the journal, and the address book gets back the modification count it had.
+     * If the journal cannot drop them, the address book is left as it is and the batch stays in progress.
+     *
+     * @param successMessage the result to give if the batch is rolled back
+     */
+    private CommandResult rollbackBatch(String successMessage) {
+        if (journal != null) {
+            try {
+                journal.rollbackToSavepoint();
+            } catch (StorageOperationException soe) {
+                return new CommandResult(String.format(RollbackCommand.MESSAGE_FAILED, soe.getMessage()));
+            }
+        }
+        addressBook.restore(preBatchState);
+        preBatchState = null;
+        return new CommandResult(successMessage);
+    }
+
+    /**
+     * Persists the changes made to the address book, if there are any: appends them to the journal if running
+     * with one, otherwise writes the whole address book to the storage file, in the background if running with
+     * a write-behind persister.
+     */
+    private void saveChanges() throws StorageOperationException {
+        if (addressBook == null) {
+            return; // the storage file is still only mapped, so nothing has changed
+        }
+        final long modificationCount = addressBook.getModificationCount();
+        if (modificationCount == savedModificationCount) {
+            saveStatistics.recordSkippedSave();
+            return;
+        }
+        try {
+            if (journal != null) {
+                journal.commit();
+            } else if (persister != null) {
+                persister.submit(new AddressBook(addressBook));
+            } else {
+                storage.save(addressBook);
+            }
+        } catch (CompactionFailedException cfe) {
+            recordSave(modificationCount); // the changes are in the journal, only folding it into the file failed
+            throw cfe;
+        }
+        recordSave(modificationCount);
+    }
+
+    private void recordSave(long modificationCount) {
+        savedModificationCount = modificationCount;
+        saveStatistics.recordPerformedSave();
+    }
+
+    /**
+     * Persists the changes made to the address book like {@link #saveChanges()}, but also waits for a write-behind
+     * persister to finish saving them, so that a failure to save them is reported.
+     */
+    private void saveChangesAndWait() throws StorageOperationException {
+        saveChanges();
+        if (persister != null) {
+            persister.flush();
+        }
+    }
+
+    /**
+     * Removes the durability launch option from the given arguments, and returns the durability level it names,
+     * or {@link Durability#FLUSH} if there is no such option.
+     *
+     * @throws IllegalValueException if the option names no durability level.
+     */
+    private static Durability removeDurabilityOption(List<String> launchArgs) throws IllegalValueException {
+        for (Iterator<String> it = launchArgs.iterator(); it.hasNext(); ) {
+            final String launchArg = it.next();
+            if (launchArg.startsWith(LAUNCH_OPTION_DURABILITY)) {
+                it.remove();
+                final String levelName = launchArg.substring(LAUNCH_OPTION_DURABILITY.length());
+                try {
+                    return Durability.valueOf(levelName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException iae) {
+                    throw new IllegalValueException("Unknown durability level: " + levelName);
+                }
+            }
+        }
+        return Durability.FLUSH;
+    }
+
     /**
      * Creates the StorageFile object based on the user specified path (if any) or the default storage path.
-     * @param launchArgs arguments supplied by the user at program launch
+     * @param launchArgs arguments supplied by the user at program launch, without launch options
      * @throws InvalidStorageFilePathException if the target file path is incorrect.
      */
-    private StorageFile initializeStorage(String[] launchArgs) throws InvalidStorageFilePathException {
-        boolean isStorageFileSpecifiedByUser = launchArgs.length > 0;
-        return isStorageFileSpecifiedByUser ? new StorageFile(launchArgs[0]) : new StorageFile();
+    private StorageFile initializeStorage(List<String> launchArgs) throws InvalidStorageFilePathException {
+        boolean isStorageFileSpecifiedByUser = launchArgs.size() > 0;
+        return isStorageFileSpecifiedByUser ? new StorageFile(launchArgs.get(0)) : new StorageFile();
     }
 
 
@@ -3,6 +3,7 @@ package seedu.addressbook.commands;
 import seedu.addressbook.data.exception.IllegalValueException;
 import seedu.addressbook.data.person.*;
 import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagPool;
 import seedu.addressbook.data.tag.UniqueTagList;
 
 import java.util.HashSet;
@@ -23,6 +24,8 @@ public class AddCommand extends Command {
 
     public static final String MESSAGE_SUCCESS = "New person added: %1$s";
     public static final String MESSAGE_DUPLICATE_PERSON = "This person already exists in the address book";
+    public static final String MESSAGE_DUPLICATE_PHONE = "This phone number already belongs to a person "
+            + "in the address book";
 
     private final Person toAdd;
 
@@ -38,7 +41,7 @@ public class AddCommand extends Command {
                       Set<String> tags) throws IllegalValueException {
         final Set<Tag> tagSet = new HashSet<>();
         for (String tagName : tags) {
-            tagSet.add(new Tag(tagName));
+            tagSet.add(TagPool.intern(tagName));
         }
         this.toAdd = new Person(
                 new Name(name),
@@ -59,6 +62,9 @@ public class AddCommand extends Command {
 
     @Override
     public CommandResult execute() {
+        if (addressBook.isRejectingDuplicatePhones() && addressBook.containsPhone(toAdd.getPhone())) {
+            return new CommandResult(MESSAGE_DUPLICATE_PHONE);
+        }
         try {
             addressBook.addPerson(toAdd);
             return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd));
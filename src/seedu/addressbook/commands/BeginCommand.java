@@ -0,0 +1,25 @@
+package seedu.addressbook.commands;
+
+/**
+ * Starts a batch: changes made by the following commands are only saved when the batch is committed,
+ * and are undone if it is rolled back. The batch itself is managed by the program, see {@link #isBegin(Command)}.
+ */
+public class BeginCommand extends Command {
+
+    public static final String COMMAND_WORD = "begin";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Starts a batch of commands. "
+            + "Changes made in the batch are saved together when it is committed.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Batch started. Changes will be saved on commit.";
+
+    @Override
+    public CommandResult execute() {
+        return new CommandResult(MESSAGE_SUCCESS);
+    }
+
+    public static boolean isBegin(Command command) {
+        return command instanceof BeginCommand; // instanceof returns false if it is null
+    }
+}
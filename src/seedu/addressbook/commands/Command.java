@@ -3,6 +3,7 @@ package seedu.addressbook.commands;
 import seedu.addressbook.common.Messages;
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.MappedAddressBookFile;
 
 import java.util.List;
 
@@ -41,6 +42,22 @@ public abstract class Command {
      */
     public abstract CommandResult execute();
 
+    /**
+     * Returns true if the command can be executed with {@link #executeOnMappedFile(MappedAddressBookFile)} on a
+     * storage file that has been mapped rather than loaded, so that the address book need not be loaded for it.
+     */
+    public boolean canExecuteOnMappedFile() {
+        return false;
+    }
+
+    /**
+     * Executes the command on a storage file that has been mapped rather than loaded, and returns the result.
+     * Only called if {@link #canExecuteOnMappedFile()}. Commands that do not use the address book simply execute.
+     */
+    public CommandResult executeOnMappedFile(MappedAddressBookFile mappedFile) {
+        return execute();
+    }
+
     /**
      * Supplies the data the command will operate on.
      */
@@ -0,0 +1,26 @@
+package seedu.addressbook.commands;
+
+/**
+ * Ends the current batch, saving the changes made in it.
+ * The batch itself is managed by the program, see {@link #isCommit(Command)}.
+ */
+public class CommitCommand extends Command {
+
+    public static final String COMMAND_WORD = "commit";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Ends the current batch and saves its changes.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Batch committed.";
+    public static final String MESSAGE_FAILED = "Batch could not be saved and has been rolled back: %1$s";
+    public static final String MESSAGE_SAVED_WITH_ERROR = "Batch committed, but an error followed saving it: %1$s";
+
+    @Override
+    public CommandResult execute() {
+        return new CommandResult(MESSAGE_SUCCESS);
+    }
+
+    public static boolean isCommit(Command command) {
+        return command instanceof CommitCommand; // instanceof returns false if it is null
+    }
+}
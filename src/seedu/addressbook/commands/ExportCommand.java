@@ -0,0 +1,55 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.storage.PersonExporter;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+/**
+ * Writes all persons in the address book to a CSV, TSV or JSON Lines file.
+ * Persons are written one at a time, so the memory used does not grow with the size of the address book.
+ */
+public class ExportCommand extends Command {
+
+    public static final String COMMAND_WORD = "export";
+
+    /** Argument preceding the file path to leave private contact details out of the exported file. */
+    public static final String REDACT_ARGUMENT = "redact";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Writes all persons in the address book to a file. "
+            + "Files ending in " + PersonExporter.JSON_LINES_FILE_EXTENSION + " get JSON Lines, "
+            + "other files get CSV or TSV that can be imported again unless redacted. "
+            + "Private contact details are left out if '" + REDACT_ARGUMENT + "' is given.\n"
+            + "Parameters: [" + REDACT_ARGUMENT + "] FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " " + REDACT_ARGUMENT + " contacts.csv";
+
+    public static final String MESSAGE_SUCCESS = "%1$d persons exported to %2$s";
+    public static final String MESSAGE_FILE_NOT_WRITABLE = "Could not write file: %1$s";
+
+    private final String filePath;
+    private final boolean isRedacted;
+
+    public ExportCommand(String filePath, boolean isRedacted) {
+        this.filePath = filePath;
+        this.isRedacted = isRedacted;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public boolean isRedacted() {
+        return isRedacted;
+    }
+
+    @Override
+    public CommandResult execute() {
+        try {
+            final int count = PersonExporter.export(addressBook.getPersonsView(), Paths.get(filePath), isRedacted);
+            return new CommandResult(String.format(MESSAGE_SUCCESS, count, filePath));
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult(String.format(MESSAGE_FILE_NOT_WRITABLE, filePath));
+        }
+    }
+}
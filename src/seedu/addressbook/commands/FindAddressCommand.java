@@ -0,0 +1,41 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.List;
+
+/**
+ * Finds and lists all persons in address book whose address contains all of the argument words.
+ * Words are compared ignoring case and punctuation. Persons whose address is private are not listed.
+ */
+public class FindAddressCommand extends Command {
+
+    public static final String COMMAND_WORD = "findaddr";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons whose addresses contain all of "
+            + "the specified words (case-insensitive, punctuation ignored) and displays them as a list with index "
+            + "numbers. Persons whose address is private are not shown.\n"
+            + "Parameters: WORD [MORE_WORDS]...\n"
+            + "Example: " + COMMAND_WORD + " clementi ave 3";
+
+    private final String words;
+
+    /**
+     * @param words the text whose words to find, as split by
+     *              {@link seedu.addressbook.common.Utils#getSearchWords(String)}
+     */
+    public FindAddressCommand(String words) {
+        this.words = words;
+    }
+
+    public String getWords() {
+        return words;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound = addressBook.findPersonsWithAddressContainingAllWords(words);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
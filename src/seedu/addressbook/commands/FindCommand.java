@@ -1,21 +1,24 @@
 package seedu.addressbook.commands;
 
+import seedu.addressbook.data.index.NameTokenIndex;
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.storage.MappedAddressBookFile;
 
 import java.util.*;
 
 /**
  * Finds and lists all persons in address book whose name contains any of the argument keywords.
- * Keyword matching is case sensitive.
+ * Keyword matching is case insensitive, and a keyword ending with a wildcard matches words starting with it.
  */
 public class FindCommand extends Command {
 
     public static final String COMMAND_WORD = "find";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons whose names contain any of "
-            + "the specified keywords (case-sensitive) and displays them as a list with index numbers.\n"
+            + "the specified keywords (case-insensitive) and displays them as a list with index numbers. "
+            + "End a keyword with '" + NameTokenIndex.PREFIX_WILDCARD + "' to match words starting with it.\n"
             + "Parameters: KEYWORD [MORE_KEYWORDS]...\n"
-            + "Example: " + COMMAND_WORD + " alice bob charlie";
+            + "Example: " + COMMAND_WORD + " alice bob charl" + NameTokenIndex.PREFIX_WILDCARD;
 
     private final Set<String> keywords;
 
@@ -36,6 +39,17 @@ public class FindCommand extends Command {
         return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
     }
 
+    @Override
+    public boolean canExecuteOnMappedFile() {
+        return true;
+    }
+
+    @Override
+    public CommandResult executeOnMappedFile(MappedAddressBookFile mappedFile) {
+        final List<ReadOnlyPerson> personsFound = mappedFile.findPersonsWithNameMatchingAnyKeyword(keywords);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
     /**
      * Retrieve all persons in the address book whose names contain some of the specified keywords.
      *
@@ -43,14 +57,7 @@ public class FindCommand extends Command {
      * @return list of persons found
      */
     private List<ReadOnlyPerson> getPersonsWithNameContainingAnyKeyword(Set<String> keywords) {
-        final List<ReadOnlyPerson> matchedPersons = new ArrayList<>();
-        for (ReadOnlyPerson person : addressBook.getAllPersons()) {
-            final Set<String> wordsInName = new HashSet<>(person.getName().getWordsInName());
-            if (!Collections.disjoint(wordsInName, keywords)) {
-                matchedPersons.add(person);
-            }
-        }
-        return matchedPersons;
+        return addressBook.findPersonsWithNameMatchingAnyKeyword(keywords);
     }
 
 }
@@ -0,0 +1,41 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.List;
+
+/**
+ * Finds and lists all persons in address book with the argument email address, ignoring case.
+ * Persons whose email address is private are not listed.
+ */
+public class FindEmailCommand extends Command {
+
+    public static final String COMMAND_WORD = "findemail";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons with the specified email address "
+            + "(case-insensitive) and displays them as a list with index numbers. "
+            + "Persons whose email address is private are not shown.\n"
+            + "Parameters: EMAIL\n"
+            + "Example: " + COMMAND_WORD + " johnd@gmail.com";
+
+    private final String email;
+
+    /**
+     * @param email the email address to find, normalised as in
+     *              {@link seedu.addressbook.data.person.Email#normalise(String)}
+     */
+    public FindEmailCommand(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound = addressBook.findPersonsWithEmail(email);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
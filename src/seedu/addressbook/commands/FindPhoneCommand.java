@@ -0,0 +1,41 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.List;
+
+/**
+ * Finds and lists all persons in address book with the argument phone number.
+ * Persons whose phone number is private are not listed.
+ */
+public class FindPhoneCommand extends Command {
+
+    public static final String COMMAND_WORD = "findphone";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons with the specified phone number "
+            + "and displays them as a list with index numbers. Spaces and dashes in the number are ignored, "
+            + "and persons whose phone number is private are not shown.\n"
+            + "Parameters: PHONE\n"
+            + "Example: " + COMMAND_WORD + " 9876 5432";
+
+    private final String phone;
+
+    /**
+     * @param phone the phone number to find, normalised as in
+     *              {@link seedu.addressbook.data.person.Phone#normalise(String)}
+     */
+    public FindPhoneCommand(String phone) {
+        this.phone = phone;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound = addressBook.findPersonsWithPhone(phone);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
@@ -0,0 +1,42 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.List;
+
+/**
+ * Finds and lists all persons in address book whose phone number ends with the argument digits.
+ * Persons whose phone number is private are not listed.
+ */
+public class FindPhoneEndCommand extends Command {
+
+    public static final String COMMAND_WORD = "findphoneend";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons whose phone numbers end with "
+            + "the specified digits and displays them as a list with index numbers. "
+            + "Spaces and dashes between the digits are ignored, "
+            + "and persons whose phone number is private are not shown.\n"
+            + "Parameters: DIGITS\n"
+            + "Example: " + COMMAND_WORD + " 5432";
+
+    private final String digits;
+
+    /**
+     * @param digits the last digits of the phone numbers to find, normalised as in
+     *               {@link seedu.addressbook.data.person.Phone#normalise(String)}
+     */
+    public FindPhoneEndCommand(String digits) {
+        this.digits = digits;
+    }
+
+    public String getDigits() {
+        return digits;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound = addressBook.findPersonsWithPhoneEndingWith(digits);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
@@ -0,0 +1,60 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagExpression;
+
+import java.util.*;
+
+/**
+ * Finds and lists all persons in address book carrying all the tags of at least one of the argument tag groups.
+ * Tag matching is case sensitive.
+ */
+public class FindTagCommand extends Command {
+
+    public static final String COMMAND_WORD = "findtag";
+
+    /** Joins tags that must all be carried by a person. */
+    public static final String TAG_AND_OPERATOR = TagExpression.AND_OPERATOR;
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons with any of the specified tags "
+            + "and displays them as a list with index numbers. "
+            + "Join tags with '" + TAG_AND_OPERATOR + "' to find persons having all of them.\n"
+            + "Parameters: TAG[" + TAG_AND_OPERATOR + "MORE_TAGS]... [MORE_TAGS]...\n"
+            + "Example: " + COMMAND_WORD + " friends colleagues" + TAG_AND_OPERATOR + "owesMoney";
+
+    private final List<Set<Tag>> tagGroups;
+
+    /**
+     * @param tagGroups groups of tags, of which a person must carry every tag of at least one group to be found
+     */
+    public FindTagCommand(List<Set<Tag>> tagGroups) {
+        this.tagGroups = tagGroups;
+    }
+
+    /**
+     * Returns copy of the tag groups in this command.
+     */
+    public List<Set<Tag>> getTagGroups() {
+        final List<Set<Tag>> copy = new ArrayList<>();
+        for (Set<Tag> tagGroup : tagGroups) {
+            copy.add(new HashSet<>(tagGroup));
+        }
+        return copy;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<TagExpression> anyOfGroups = new ArrayList<>();
+        for (Set<Tag> tagGroup : tagGroups) {
+            final List<TagExpression> allOfGroup = new ArrayList<>();
+            for (Tag tag : tagGroup) {
+                allOfGroup.add(TagExpression.tag(tag));
+            }
+            anyOfGroups.add(TagExpression.allOf(allOfGroup));
+        }
+        final List<ReadOnlyPerson> personsFound = addressBook.findPersonsMatching(TagExpression.anyOf(anyOfGroups));
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
@@ -0,0 +1,44 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.*;
+
+/**
+ * Finds and lists the persons in address book whose names contain words close to any of the argument keywords,
+ * closest first. Tolerates typos in the keywords, and keyword matching is case insensitive.
+ */
+public class FuzzyFindCommand extends Command {
+
+    public static final String COMMAND_WORD = "fuzzyfind";
+
+    /** Maximum number of persons listed. */
+    public static final int MAX_RESULTS = 20;
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds the persons whose names contain words "
+            + "similar to any of the specified keywords, allowing for typos (case-insensitive), "
+            + "and displays up to " + MAX_RESULTS + " of them as a list with index numbers, closest first.\n"
+            + "Parameters: KEYWORD [MORE_KEYWORDS]...\n"
+            + "Example: " + COMMAND_WORD + " alise bobb charlei";
+
+    private final Set<String> keywords;
+
+    public FuzzyFindCommand(Set<String> keywords) {
+        this.keywords = keywords;
+    }
+
+    /**
+     * Returns copy of keywords in this command.
+     */
+    public Set<String> getKeywords() {
+        return new HashSet<>(keywords);
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound =
+                addressBook.findPersonsWithNameNearAnyKeyword(keywords, MAX_RESULTS);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
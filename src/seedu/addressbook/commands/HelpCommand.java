@@ -13,6 +13,11 @@ public class HelpCommand extends Command {
 
     public HelpCommand() {}
 
+    @Override
+    public boolean canExecuteOnMappedFile() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
         return new CommandResult(
@@ -20,9 +25,22 @@ public class HelpCommand extends Command {
                 + "\n" + DeleteCommand.MESSAGE_USAGE
                 + "\n" + ClearCommand.MESSAGE_USAGE
                 + "\n" + FindCommand.MESSAGE_USAGE
+                + "\n" + FuzzyFindCommand.MESSAGE_USAGE
+                + "\n" + FindPhoneCommand.MESSAGE_USAGE
+                + "\n" + FindPhoneEndCommand.MESSAGE_USAGE
+                + "\n" + FindEmailCommand.MESSAGE_USAGE
+                + "\n" + FindAddressCommand.MESSAGE_USAGE
+                + "\n" + FindTagCommand.MESSAGE_USAGE
+                + "\n" + SearchCommand.MESSAGE_USAGE
                 + "\n" + ListCommand.MESSAGE_USAGE
                 + "\n" + ViewCommand.MESSAGE_USAGE
                 + "\n" + ViewAllCommand.MESSAGE_USAGE
+                + "\n" + ImportCommand.MESSAGE_USAGE
+                + "\n" + ExportCommand.MESSAGE_USAGE
+                + "\n" + BeginCommand.MESSAGE_USAGE
+                + "\n" + CommitCommand.MESSAGE_USAGE
+                + "\n" + RollbackCommand.MESSAGE_USAGE
+                + "\n" + StatsCommand.MESSAGE_USAGE
                 + "\n" + HelpCommand.MESSAGE_USAGE
                 + "\n" + ExitCommand.MESSAGE_USAGE
         );
@@ -0,0 +1,231 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagPool;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.DelimitedTextReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static seedu.addressbook.storage.DelimitedTextFormat.*;
+
+/**
+ * Adds the persons listed in a CSV or TSV file to the address book.
+ *
+ * Rows are validated in parallel on the common fork-join pool. Rows that are invalid, or that duplicate an earlier
+ * row or an existing person, are skipped and reported. So are rows whose phone number is already in use, by an
+ * existing person or an earlier row, when the address book rejects duplicate phone numbers.
+ * The remaining persons are added in a single change.
+ */
+public class ImportCommand extends Command {
+
+    public static final String COMMAND_WORD = "import";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Adds the persons in a CSV or TSV file "
+            + "to the address book. The first line of the file names the columns: "
+            + COLUMN_NAME + ", " + COLUMN_PHONE + ", " + COLUMN_EMAIL + ", " + COLUMN_ADDRESS
+            + " and optionally " + COLUMN_TAGS + " and " + COLUMN_PRIVATE + ".\n"
+            + "Parameters: FILE_PATH\n"
+            + "Example: " + COMMAND_WORD + " contacts.csv";
+
+    public static final String MESSAGE_SUCCESS = "%1$d persons imported, %2$d rows skipped";
+    public static final String MESSAGE_FILE_NOT_READABLE = "Could not read file: %1$s";
+    public static final String MESSAGE_MISSING_COLUMNS = "The first line of the file must name the columns "
+            + COLUMN_NAME + ", " + COLUMN_PHONE + ", " + COLUMN_EMAIL + " and " + COLUMN_ADDRESS;
+    public static final String MESSAGE_ROW_ERROR = "Line %1$d: %2$s";
+    public static final String MESSAGE_WRONG_FIELD_COUNT = "expected %1$d fields but found %2$d";
+    public static final String MESSAGE_UNKNOWN_PRIVATE_DETAIL = "unknown private detail '%1$s'";
+    public static final String MESSAGE_MORE_ROW_ERRORS = "... and %1$d more";
+
+    /** Maximum number of row errors listed in the result. */
+    public static final int MAX_REPORTED_ROW_ERRORS = 20;
+
+    private static final String[] REQUIRED_COLUMNS = { COLUMN_NAME, COLUMN_PHONE, COLUMN_EMAIL, COLUMN_ADDRESS };
+
+    private static final Pattern VALUE_SEPARATORS = Pattern.compile(VALUE_SEPARATOR + "+");
+
+    private final String filePath;
+
+    public ImportCommand(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * A record of the imported file, with the line it starts on.
+     */
+    private static class Row {
+        final int lineNumber;
+        final List<String> fields;
+
+        Row(int lineNumber, List<String> fields) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * The outcome of validating a row: either a person or the reason the row was rejected.
+     */
+    private static class RowResult {
+        final Person person;
+        final String error;
+
+        RowResult(Person person, String error) {
+            this.person = person;
+            this.error = error;
+        }
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<Row> rows = new ArrayList<>();
+        final List<String> header;
+        try {
+            header = readFile(Paths.get(filePath), rows);
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult(String.format(MESSAGE_FILE_NOT_READABLE, filePath));
+        }
+
+        final Map<String, Integer> columns = getColumnPositions(header);
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                return new CommandResult(MESSAGE_MISSING_COLUMNS);
+            }
+        }
+
+        final List<RowResult> results = IntStream.range(0, rows.size())
+                .parallel()
+                .mapToObj(i -> validateRow(rows.get(i).fields, columns, header.size()))
+                .collect(Collectors.toList());
+
+        final List<Person> toAdd = new ArrayList<>();
+        final Set<Person> seen = new HashSet<>();
+        final Set<String> seenPhones = new HashSet<>();
+        final List<String> rowErrors = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            final RowResult result = results.get(i);
+            String error = result.error;
+            if (error == null && (addressBook.containsPerson(result.person) || !seen.add(result.person))) {
+                error = AddCommand.MESSAGE_DUPLICATE_PERSON;
+            }
+            if (error == null && addressBook.isRejectingDuplicatePhones()
+                    && (addressBook.containsPhone(result.person.getPhone())
+                        || !seenPhones.add(Phone.normalise(result.person.getPhone().value)))) {
+                error = AddCommand.MESSAGE_DUPLICATE_PHONE;
+            }
+            if (error == null) {
+                toAdd.add(result.person);
+            } else {
+                rowErrors.add(String.format(MESSAGE_ROW_ERROR, rows.get(i).lineNumber, error));
+            }
+        }
+
+        try {
+            addressBook.addPersons(toAdd);
+            return new CommandResult(getMessageForImportSummary(toAdd.size(), rowErrors));
+        } catch (UniquePersonList.DuplicatePersonException dpe) {
+            return new CommandResult(AddCommand.MESSAGE_DUPLICATE_PERSON);
+        }
+    }
+
+    /**
+     * Reads the records of the file at the given path into {@code rows}, except for the header.
+     *
+     * @return the fields of the header, or an empty list if the file is empty.
+     */
+    private static List<String> readFile(Path path, List<Row> rows) throws IOException {
+        try (final Reader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            final DelimitedTextReader records = new DelimitedTextReader(fileReader, delimiterFor(path));
+            final List<String> header = records.readRecord();
+            for (List<String> fields = records.readRecord(); fields != null; fields = records.readRecord()) {
+                rows.add(new Row(records.getRecordLineNumber(), fields));
+            }
+            return header == null ? Collections.emptyList() : header;
+        }
+    }
+
+    /**
+     * Maps the names of the columns in the given header to their positions. Column names are not case-sensitive.
+     */
+    private static Map<String, Integer> getColumnPositions(List<String> header) {
+        final Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    /**
+     * Converts the fields of a row into a person. Safe to call from multiple threads at once.
+     */
+    private static RowResult validateRow(List<String> fields, Map<String, Integer> columns, int columnCount) {
+        if (fields.size() != columnCount) {
+            return new RowResult(null, String.format(MESSAGE_WRONG_FIELD_COUNT, columnCount, fields.size()));
+        }
+        try {
+            final Set<String> privateDetails = getValues(fields, columns, COLUMN_PRIVATE);
+            for (String detail : privateDetails) {
+                if (!detail.equals(COLUMN_PHONE) && !detail.equals(COLUMN_EMAIL) && !detail.equals(COLUMN_ADDRESS)) {
+                    return new RowResult(null, String.format(MESSAGE_UNKNOWN_PRIVATE_DETAIL, detail));
+                }
+            }
+            final Set<Tag> tags = new HashSet<>();
+            for (String tagName : getValues(fields, columns, COLUMN_TAGS)) {
+                tags.add(TagPool.intern(tagName));
+            }
+            final Person person = new Person(
+                    new Name(fields.get(columns.get(COLUMN_NAME))),
+                    new Phone(fields.get(columns.get(COLUMN_PHONE)), privateDetails.contains(COLUMN_PHONE)),
+                    new Email(fields.get(columns.get(COLUMN_EMAIL)), privateDetails.contains(COLUMN_EMAIL)),
+                    new Address(fields.get(columns.get(COLUMN_ADDRESS)), privateDetails.contains(COLUMN_ADDRESS)),
+                    new UniqueTagList(tags));
+            return new RowResult(person, null);
+        } catch (IllegalValueException ive) {
+            return new RowResult(null, ive.getMessage());
+        }
+    }
+
+    /**
+     * Returns the separate values in the given optional column of a row, or none if the file lacks the column.
+     */
+    private static Set<String> getValues(List<String> fields, Map<String, Integer> columns, String column) {
+        final Integer position = columns.get(column);
+        if (position == null) {
+            return Collections.emptySet();
+        }
+        final String values = fields.get(position).trim();
+        if (values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(VALUE_SEPARATORS.split(values)));
+    }
+
+    private static String getMessageForImportSummary(int importedCount, List<String> rowErrors) {
+        final StringBuilder message = new StringBuilder(
+                String.format(MESSAGE_SUCCESS, importedCount, rowErrors.size()));
+        for (String rowError : rowErrors.subList(0, Math.min(rowErrors.size(), MAX_REPORTED_ROW_ERRORS))) {
+            message.append('\n').append(rowError);
+        }
+        if (rowErrors.size() > MAX_REPORTED_ROW_ERRORS) {
+            message.append('\n').append(String.format(MESSAGE_MORE_ROW_ERRORS,
+                    rowErrors.size() - MAX_REPORTED_ROW_ERRORS));
+        }
+        return message.toString();
+    }
+}
@@ -12,6 +12,11 @@ public class IncorrectCommand extends Command{
         this.feedbackToUser = feedbackToUser;
     }
 
+    @Override
+    public boolean canExecuteOnMappedFile() {
+        return true;
+    }
+
     @Override
     public CommandResult execute() {
         return new CommandResult(feedbackToUser);
@@ -1,25 +1,68 @@
 package seedu.addressbook.commands;
 
 import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.TagExpression;
+import seedu.addressbook.storage.MappedAddressBookFile;
 
 import java.util.List;
 
 
 /**
- * Lists all persons in the address book to the user.
+ * Lists all persons in the address book to the user, or only those whose tags match a tag expression.
  */
 public class ListCommand extends Command {
 
     public static final String COMMAND_WORD = "list";
 
     public static final String MESSAGE_USAGE = COMMAND_WORD
-            + ": Displays all persons in the address book as a list with index numbers.\n"
-            + "Example: " + COMMAND_WORD;
+            + ": Displays all persons in the address book as a list with index numbers. "
+            + "Given a tag expression, displays only the persons whose tags match it: "
+            + "tags separated by spaces are alternatives, tags joined by '" + TagExpression.AND_OPERATOR
+            + "' are all required and tags prefixed with '" + TagExpression.NOT_OPERATOR + "' must be absent.\n"
+            + "Parameters: [TAG_EXPRESSION]\n"
+            + "Example: " + COMMAND_WORD + " friends" + TagExpression.AND_OPERATOR + TagExpression.NOT_OPERATOR
+            + "colleagues family";
 
+    /** Null if all persons are listed. */
+    private final TagExpression tagExpression;
+
+    public ListCommand() {
+        this(null);
+    }
+
+    /**
+     * @param tagExpression the expression the tags of listed persons must match, or null to list all persons
+     */
+    public ListCommand(TagExpression tagExpression) {
+        this.tagExpression = tagExpression;
+    }
+
+    /**
+     * Returns the expression the tags of listed persons must match, or null if all persons are listed.
+     */
+    public TagExpression getTagExpression() {
+        return tagExpression;
+    }
 
     @Override
     public CommandResult execute() {
-        List<ReadOnlyPerson> allPersons = addressBook.getAllPersons().immutableListView();
-        return new CommandResult(getMessageForPersonListShownSummary(allPersons), allPersons);
+        final List<ReadOnlyPerson> personsListed = tagExpression == null
+                ? addressBook.getAllPersons().immutableListView()
+                : addressBook.findPersonsMatching(tagExpression);
+        return new CommandResult(getMessageForPersonListShownSummary(personsListed), personsListed);
+    }
+
+    @Override
+    public boolean canExecuteOnMappedFile() {
+        return tagExpression == null;
+    }
+
+    /**
+     * Lists the persons straight from the mapped file. They are decoded only as they are shown.
+     */
+    @Override
+    public CommandResult executeOnMappedFile(MappedAddressBookFile mappedFile) {
+        final List<ReadOnlyPerson> personsListed = mappedFile.asList();
+        return new CommandResult(getMessageForPersonListShownSummary(personsListed), personsListed);
     }
 }
@@ -0,0 +1,25 @@
+package seedu.addressbook.commands;
+
+/**
+ * Ends the current batch, undoing the changes made in it.
+ * The batch itself is managed by the program, see {@link #isRollback(Command)}.
+ */
+public class RollbackCommand extends Command {
+
+    public static final String COMMAND_WORD = "rollback";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Ends the current batch and undoes its changes.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SUCCESS = "Batch rolled back.";
+    public static final String MESSAGE_FAILED = "Batch could not be rolled back: %1$s";
+
+    @Override
+    public CommandResult execute() {
+        return new CommandResult(MESSAGE_SUCCESS);
+    }
+
+    public static boolean isRollback(Command command) {
+        return command instanceof RollbackCommand; // instanceof returns false if it is null
+    }
+}
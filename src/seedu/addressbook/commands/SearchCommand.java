@@ -0,0 +1,46 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.List;
+
+/**
+ * Finds and lists the persons in address book best matching the argument words across their name, email address,
+ * address and tags, best match first. Words are compared ignoring case and punctuation, and fields kept private
+ * are not searched.
+ */
+public class SearchCommand extends Command {
+
+    public static final String COMMAND_WORD = "search";
+
+    /** Maximum number of persons listed. */
+    public static final int MAX_RESULTS = 20;
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds the persons whose name, email address, "
+            + "address or tags contain any of the specified words (case-insensitive, punctuation ignored), "
+            + "and displays up to " + MAX_RESULTS + " of them as a list with index numbers, best match first. "
+            + "Fields that are private are not searched.\n"
+            + "Parameters: WORD [MORE_WORDS]...\n"
+            + "Example: " + COMMAND_WORD + " john clementi friends";
+
+    private final String words;
+
+    /**
+     * @param words the text whose words to search for, as split by
+     *              {@link seedu.addressbook.common.Utils#getSearchWords(String)}
+     */
+    public SearchCommand(String words) {
+        this.words = words;
+    }
+
+    public String getWords() {
+        return words;
+    }
+
+    @Override
+    public CommandResult execute() {
+        final List<ReadOnlyPerson> personsFound = addressBook.searchPersons(words, MAX_RESULTS);
+        return new CommandResult(getMessageForPersonListShownSummary(personsFound), personsFound);
+    }
+
+}
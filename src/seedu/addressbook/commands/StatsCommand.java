@@ -0,0 +1,48 @@
+package seedu.addressbook.commands;
+
+import seedu.addressbook.storage.SaveStatistics;
+import seedu.addressbook.storage.WriteBehindPersister;
+
+/**
+ * Shows how often the address book was saved, and how far saving in the background lags behind when running with
+ * a write-behind persister. The figures are supplied by the program, see {@link #isStats(Command)}.
+ */
+public class StatsCommand extends Command {
+
+    public static final String COMMAND_WORD = "stats";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Shows how often the address book was saved.\n"
+            + "Example: " + COMMAND_WORD;
+
+    public static final String MESSAGE_SAVES = "Saves performed: %1$d, skipped as nothing changed: %2$d";
+    public static final String MESSAGE_BACKGROUND_SAVES = "Saves queued in the background: %1$d, "
+            + "last version saved: %2$d";
+
+    private SaveStatistics saveStatistics;
+    private WriteBehindPersister persister;
+
+    /**
+     * Supplies the figures to show.
+     *
+     * @param persister the persister saving in the background, or null if not running with one
+     */
+    public void setSaveData(SaveStatistics saveStatistics, WriteBehindPersister persister) {
+        this.saveStatistics = saveStatistics;
+        this.persister = persister;
+    }
+
+    @Override
+    public CommandResult execute() {
+        String message = String.format(MESSAGE_SAVES,
+                saveStatistics.getPerformedSaves(), saveStatistics.getSkippedSaves());
+        if (persister != null) {
+            message += "\n" + String.format(MESSAGE_BACKGROUND_SAVES,
+                    persister.getQueueDepth(), persister.getLastPersistedVersion());
+        }
+        return new CommandResult(message);
+    }
+
+    public static boolean isStats(Command command) {
+        return command instanceof StatsCommand; // instanceof returns false if it is null
+    }
+}
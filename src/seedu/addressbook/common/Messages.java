@@ -5,14 +5,19 @@ package seedu.addressbook.common;
  */
 public class Messages {
 
+    public static final String MESSAGE_BATCH_ALREADY_IN_PROGRESS = "A batch is already in progress";
+    public static final String MESSAGE_BATCH_DISCARDED_ON_EXIT = "The batch in progress was not committed; "
+            + "its changes have been discarded.";
     public static final String MESSAGE_GOODBYE = "Good bye!";
     public static final String MESSAGE_INIT_FAILED = "Failed to initialise address book application. Exiting...";
     public static final String MESSAGE_INVALID_COMMAND_FORMAT = "Invalid command format! \n%1$s";
     public static final String MESSAGE_INVALID_PERSON_DISPLAYED_INDEX = "The person index provided is invalid";
+    public static final String MESSAGE_NO_BATCH_IN_PROGRESS = "No batch is in progress";
     public static final String MESSAGE_PERSON_NOT_IN_ADDRESSBOOK = "Person could not be found in address book";
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW = "%1$d persons listed!";
     public static final String MESSAGE_PROGRAM_LAUNCH_ARGS_USAGE = "Launch command format: " +
-            "java seedu.addressbook.Main [STORAGE_FILE_PATH]";
+            "java seedu.addressbook.Main [--journal] [--compact] [--durability=none|flush|fsync] [--write-behind] "
+            + "[--unique-phones] [--mapped] [STORAGE_FILE_PATH]";
     public static final String MESSAGE_WELCOME = "Welcome to your Address Book!";
     public static final String MESSAGE_USING_STORAGE_FILE = "Using storage file : %1$s";
 }
@@ -2,14 +2,20 @@ package seedu.addressbook.common;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Utility methods
  */
 public class Utils {
 
+    /** Separates words when searching, see {@link #getSearchWords(String)}. */
+    private static final Pattern SEARCH_WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     /**
      * Checks whether any of the given items are null.
      */
@@ -35,4 +41,53 @@ public class Utils {
         }
         return true;
     }
+
+    /**
+     * Returns the distinct words in the given text, as compared when searching: the runs of letters and digits,
+     * in lower case and in order of appearance. Punctuation and spaces only separate words, so
+     * {@code "123, Some Street"} and {@code "123 some-street"} have the same words.
+     */
+    public static Set<String> getSearchWords(String text) {
+        final Set<String> words = new LinkedHashSet<>();
+        for (String word : SEARCH_WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the given strings if it is at most {@code maxDistance},
+     * or {@code maxDistance + 1} otherwise. Gives up as soon as every alignment of the prefixes compared so far
+     * needs more than {@code maxDistance} edits, so strings far apart are rejected early.
+     */
+    public static int boundedEditDistance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        // distances from each prefix of first to every prefix of second, one row per prefix of first
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(Math.min(previousRow[j], currentRow[j - 1]) + 1,
+                        previousRow[j - 1] + substitutionCost);
+                rowMinimum = Math.min(rowMinimum, currentRow[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            final int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return Math.min(previousRow[second.length()], maxDistance + 1);
+    }
 }
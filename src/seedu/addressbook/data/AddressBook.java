@@ -1,15 +1,21 @@
 package seedu.addressbook.data;
 
+import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.index.ExactMatchIndex;
+import seedu.addressbook.data.index.NameTokenIndex;
+import seedu.addressbook.data.index.RankedSearch;
+import seedu.addressbook.data.index.SearchField;
+import seedu.addressbook.data.index.SortedKeyIndex;
+import seedu.addressbook.data.index.WordOrdinalIndex;
 import seedu.addressbook.data.person.*;
 import seedu.addressbook.data.person.UniquePersonList.*;
 import seedu.addressbook.data.tag.UniqueTagList;
 import seedu.addressbook.data.tag.UniqueTagList.*;
 import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagExpression;
+import seedu.addressbook.data.tag.TagPool;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Represents the entire address book. Contains the data of the address book.
@@ -17,11 +23,34 @@ import java.util.Set;
  * Guarantees:
  *  - Every tag found in every person will also be found in the tag list.
  *  - The tags in each person point to tag objects in the master list. (== equality)
+ *    All tags in the address book are the canonical instances held by {@link TagPool}.
  */
 public class AddressBook {
 
-    private final UniquePersonList allPersons;
-    private final UniqueTagList allTags; // can contain tags not attached to any person
+    private UniquePersonList allPersons;
+    private UniqueTagList allTags; // can contain tags not attached to any person
+
+    /** Built on first use so that address books which are never searched do not pay for it. Null until then. */
+    private NameTokenIndex nameIndex;
+    /** Indexes persons by normalised phone number. Built on first use, like {@link #nameIndex}. */
+    private ExactMatchIndex phoneIndex;
+    /** Indexes persons by normalised phone number written backwards, to find numbers by their last digits. */
+    private SortedKeyIndex phoneSuffixIndex;
+    /** Indexes persons by normalised email address. Built on first use, like {@link #nameIndex}. */
+    private ExactMatchIndex emailIndex;
+    /**
+     * Indexes the ordinals of persons in {@link #allPersons} by the words in each field. Each index is built on
+     * first use, and dropped to be rebuilt once it holds mostly removed persons.
+     */
+    private final Map<SearchField, WordOrdinalIndex> fieldIndexes = new EnumMap<>(SearchField.class);
+
+    /** Whether adding or importing a person whose phone number is already in use should be refused. */
+    private boolean isRejectingDuplicatePhones;
+
+    private final List<AddressBookChangeListener> changeListeners = new ArrayList<>();
+
+    /** Number of changes made to this address book, see {@link #getModificationCount()}. */
+    private long modificationCount;
 
     /**
      * Creates an empty address book.
@@ -40,45 +69,134 @@ public class AddressBook {
      */
     public AddressBook(UniquePersonList persons, UniqueTagList tags) {
         this.allPersons = new UniquePersonList(persons);
-        this.allTags = new UniqueTagList(tags);
+        final Set<Tag> canonicalTags = new LinkedHashSet<>();
+        for (Tag tag : tags) {
+            canonicalTags.add(TagPool.intern(tag));
+        }
+        this.allTags = new UniqueTagList(canonicalTags);
         for (Person p : allPersons) {
             syncTagsWithMasterList(p);
         }
     }
 
+    /**
+     * Constructs a snapshot of the given address book. Later changes to either address book do not affect the other.
+     * Takes constant time, as the person and tag lists are copy-on-write and persons are not modified once added.
+     * Change listeners of the source are not carried over.
+     */
+    public AddressBook(AddressBook source) {
+        this.allPersons = new UniquePersonList(source.allPersons);
+        this.allTags = new UniqueTagList(source.allTags);
+        this.modificationCount = source.modificationCount;
+    }
+
     /**
      * Ensures that every tag in this person:
      *  - exists in the master list {@link #allTags}
      *  - points to a Tag object in the master list
+     * Since the master list only holds canonical tags, this takes one pool lookup per tag of the person, and the
+     * person's tag list is only rebuilt if it holds tags that are not canonical.
      */
     private void syncTagsWithMasterList(Person person) {
         final UniqueTagList personTags = person.getTags();
-        allTags.mergeFrom(personTags);
-
-        // Create map with values = tag object references in the master list
-        final Map<Tag, Tag> masterTagObjects = new HashMap<>();
-        for (Tag tag : allTags) {
-            masterTagObjects.put(tag, tag);
-        }
-
-        // Rebuild the list of person tags using references from the master list
-        final Set<Tag> commonTagReferences = new HashSet<>();
+        final Set<Tag> canonicalTags = new LinkedHashSet<>();
+        boolean isAllCanonical = true;
         for (Tag tag : personTags) {
-            commonTagReferences.add(masterTagObjects.get(tag));
+            final Tag canonical = TagPool.intern(tag);
+            canonicalTags.add(canonical);
+            isAllCanonical &= canonical == tag;
         }
-        person.setTags(new UniqueTagList(commonTagReferences));
+        if (!isAllCanonical) {
+            person.setTags(new UniqueTagList(canonicalTags));
+        }
+        allTags.mergeFrom(person.getTags());
     }
 
     /**
      * Adds a person to the address book.
      * Also checks the new person's tags and updates {@link #allTags} with any new tags found,
      * and updates the Tag objects in the person to point to those in {@link #allTags}.
+     * Leaves the tags unchanged if the person is rejected.
      *
      * @throws DuplicatePersonException if an equivalent person already exists.
      */
     public void addPerson(Person toAdd) throws DuplicatePersonException {
+        allPersons.checkCanAddAll(Collections.singleton(toAdd));
         syncTagsWithMasterList(toAdd);
         allPersons.add(toAdd);
+        addToIndexes(toAdd);
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.personAdded(toAdd);
+        }
+    }
+
+    /**
+     * Adds all the given persons to the address book as a single change, in the given order.
+     * Adds none of them if any is a duplicate of an existing person or of another given person.
+     * The tags of the new persons are handled as in {@link #addPerson(Person)}.
+     *
+     * @throws DuplicatePersonException if a person to add is a duplicate.
+     */
+    public void addPersons(Collection<Person> toAdd) throws DuplicatePersonException {
+        allPersons.checkCanAddAll(toAdd);
+        for (Person person : toAdd) {
+            syncTagsWithMasterList(person);
+        }
+        allPersons.addAll(toAdd);
+        for (Person person : toAdd) {
+            addToIndexes(person);
+        }
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            for (Person person : toAdd) {
+                listener.personAdded(person);
+            }
+        }
+    }
+
+    private void addToIndexes(ReadOnlyPerson person) {
+        if (nameIndex != null) {
+            nameIndex.add(person);
+        }
+        if (phoneIndex != null) {
+            phoneIndex.add(person);
+        }
+        if (phoneSuffixIndex != null) {
+            phoneSuffixIndex.add(person);
+        }
+        if (emailIndex != null) {
+            emailIndex.add(person);
+        }
+        if (!fieldIndexes.isEmpty()) {
+            final int ordinal = allPersons.getOrdinal(person);
+            for (WordOrdinalIndex index : fieldIndexes.values()) {
+                index.add(person, ordinal);
+            }
+        }
+    }
+
+    private void removeFromIndexes(ReadOnlyPerson person) {
+        if (nameIndex != null) {
+            nameIndex.remove(person);
+        }
+        if (phoneIndex != null) {
+            phoneIndex.remove(person);
+        }
+        if (phoneSuffixIndex != null) {
+            phoneSuffixIndex.remove(person);
+        }
+        if (emailIndex != null) {
+            emailIndex.remove(person);
+        }
+        final Iterator<WordOrdinalIndex> fieldIndexIterator = fieldIndexes.values().iterator();
+        while (fieldIndexIterator.hasNext()) {
+            final WordOrdinalIndex index = fieldIndexIterator.next();
+            index.remove(person);
+            if (index.isMostlyStale()) {
+                fieldIndexIterator.remove();
+            }
+        }
     }
 
     /**
@@ -87,7 +205,12 @@ public class AddressBook {
      * @throws DuplicateTagException if an equivalent tag already exists.
      */
     public void addTag(Tag toAdd) throws DuplicateTagException {
-        allTags.add(toAdd);
+        final Tag canonical = TagPool.intern(toAdd);
+        allTags.add(canonical);
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.tagAdded(canonical);
+        }
     }
 
     /**
@@ -105,21 +228,61 @@ public class AddressBook {
     }
 
     /**
-     * Removes the equivalent person from the address book.
+     * Checks if any person in the address book has the given phone number, private or not.
+     * Constant time, answered from an index.
+     */
+    public boolean containsPhone(Phone phone) {
+        return getPhoneIndex().containsKey(Phone.normalise(phone.value));
+    }
+
+    /**
+     * Returns whether adding a person whose phone number is already in use should be refused.
+     * Private phone numbers count as in use too, so a refusal tells the user that some person has the number,
+     * though not who: the number cannot be both unique and hidden from those adding it.
+     * Not enforced by the address book itself, see {@link #containsPhone(Phone)}.
+     */
+    public boolean isRejectingDuplicatePhones() {
+        return isRejectingDuplicatePhones;
+    }
+
+    public void setRejectingDuplicatePhones(boolean isRejectingDuplicatePhones) {
+        this.isRejectingDuplicatePhones = isRejectingDuplicatePhones;
+    }
+
+    /**
+     * Removes the equivalent person from the address book. Indexes and change listeners are given the person as
+     * held by the address book, whose tags may differ from those of the given person.
      *
      * @throws PersonNotFoundException if no such Person could be found.
      */
     public void removePerson(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        allPersons.remove(toRemove);
+        final Person removed = allPersons.remove(toRemove);
+        removeFromIndexes(removed);
+        if (allPersons.compactOrdinalsIfSparse()) {
+            fieldIndexes.clear(); // keyed by the old ordinals
+        }
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.personRemoved(removed);
+        }
     }
 
     /**
-     * Removes the equivalent Tag from the address book.
+     * Removes the equivalent Tag from the address book. Refused while any person carries the Tag, as every tag
+     * found in a person must also be found in the tag list.
      *
      * @throws TagNotFoundException if no such Tag could be found.
+     * @throws TagInUseException if a person in the address book carries the Tag.
      */
-    public void removeTag(Tag toRemove) throws TagNotFoundException {
+    public void removeTag(Tag toRemove) throws TagNotFoundException, TagInUseException {
+        if (allPersons.isCarriedByAny(toRemove)) {
+            throw new TagInUseException();
+        }
         allTags.remove(toRemove);
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.tagRemoved(toRemove);
+        }
     }
 
     /**
@@ -128,17 +291,288 @@ public class AddressBook {
     public void clear() {
         allPersons.clear();
         allTags.clear();
+        nameIndex = null;
+        phoneIndex = null;
+        phoneSuffixIndex = null;
+        emailIndex = null;
+        fieldIndexes.clear();
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.addressBookCleared();
+        }
+    }
+
+    /**
+     * Replaces the data in this address book with the data in the given address book.
+     * Takes constant time, apart from notifying change listeners, which see the change as the address book being
+     * cleared and then every tag and person in the given address book being added.
+     */
+    public void resetData(AddressBook newData) {
+        allPersons = new UniquePersonList(newData.allPersons);
+        allTags = new UniqueTagList(newData.allTags);
+        nameIndex = null;
+        phoneIndex = null;
+        phoneSuffixIndex = null;
+        emailIndex = null;
+        fieldIndexes.clear();
+        modificationCount++;
+        for (AddressBookChangeListener listener : changeListeners) {
+            listener.addressBookCleared();
+            for (Tag tag : allTags) {
+                listener.tagAdded(tag);
+            }
+            for (Person person : allPersons) {
+                listener.personAdded(person);
+            }
+        }
+    }
+
+    /**
+     * Restores the data in this address book to that of the given snapshot of it, as if the changes made since the
+     * snapshot was taken had never happened. The modification count is restored too, and change listeners are not
+     * notified: listeners recording changes must discard those made since the snapshot themselves.
+     * Takes constant time.
+     *
+     * @param snapshot a snapshot of this address book made with {@link #AddressBook(AddressBook)}
+     */
+    public void restore(AddressBook snapshot) {
+        allPersons = new UniquePersonList(snapshot.allPersons);
+        allTags = new UniqueTagList(snapshot.allTags);
+        nameIndex = null;
+        phoneIndex = null;
+        phoneSuffixIndex = null;
+        emailIndex = null;
+        fieldIndexes.clear();
+        modificationCount = snapshot.modificationCount;
+    }
+
+    /**
+     * Returns the number of changes made to this address book since it was created, or since its source was
+     * created if it is a snapshot. The count increases with every change to the data in the address book,
+     * so if counts taken at two points in time are equal, nothing was modified in between.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Registers a listener to be notified of every subsequent change to this address book.
+     */
+    public void addChangeListener(AddressBookChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Returns the persons whose names contain a word matching any of the given keywords, in the order they appear
+     * in the address book. Answered from an index, in time proportional to the number of matches rather than the
+     * address book size.
+     *
+     * @see NameTokenIndex#getPersonsMatchingAnyKeyword(Collection)
+     */
+    public List<ReadOnlyPerson> findPersonsWithNameMatchingAnyKeyword(Collection<String> keywords) {
+        return allPersons.inListOrder(getNameIndex().getPersonsMatchingAnyKeyword(keywords));
+    }
+
+    /**
+     * Returns the persons whose names contain a word close to any of the given keywords, up to the given limit.
+     * Persons with closer words come first, and persons with equally close words in the order they appear in the
+     * address book. Answered from an index, without comparing the keywords to every person's name.
+     *
+     * @see NameTokenIndex#getPersonsWithWordNearAnyKeyword(Collection)
+     */
+    public List<ReadOnlyPerson> findPersonsWithNameNearAnyKeyword(Collection<String> keywords, int limit) {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        final Set<ReadOnlyPerson> alreadyFound = new HashSet<>();
+        final SortedMap<Integer, List<Set<ReadOnlyPerson>>> personsByDistance =
+                getNameIndex().getPersonsWithWordNearAnyKeyword(keywords);
+        for (List<Set<ReadOnlyPerson>> personSets : personsByDistance.values()) {
+            if (found.size() == limit) {
+                break;
+            }
+            final List<ReadOnlyPerson> closest = allPersons.firstInListOrder(personSets, alreadyFound,
+                    limit - found.size());
+            found.addAll(closest);
+            alreadyFound.addAll(closest);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the persons whose phone number is the given one when normalised, in the order they appear in the
+     * address book. Persons keeping their phone number private are left out. Constant time, answered from an index.
+     *
+     * @see Phone#normalise(String)
+     */
+    public List<ReadOnlyPerson> findPersonsWithPhone(String phone) {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (ReadOnlyPerson person : getPhoneIndex().getPersonsWithKey(Phone.normalise(phone))) {
+            if (!person.getPhone().isPrivate()) {
+                found.add(person);
+            }
+        }
+        return allPersons.inListOrder(found);
+    }
+
+    /**
+     * Returns the persons whose phone number ends with the given digits when normalised, in the order they appear
+     * in the address book. Persons keeping their phone number private are left out.
+     * Answered from an index of phone numbers written backwards, in time proportional to the number of matches
+     * plus a logarithmic number of comparisons, rather than the address book size.
+     *
+     * @see Phone#normalise(String)
+     */
+    public List<ReadOnlyPerson> findPersonsWithPhoneEndingWith(String digits) {
+        final String reversedDigits = reverse(Phone.normalise(digits));
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (ReadOnlyPerson person : getPhoneSuffixIndex().getPersonsWithKeyStartingWith(reversedDigits)) {
+            if (!person.getPhone().isPrivate()) {
+                found.add(person);
+            }
+        }
+        return allPersons.inListOrder(found);
+    }
+
+    private static String reverse(String text) {
+        return new StringBuilder(text).reverse().toString();
+    }
+
+    /**
+     * Returns the persons whose email address is the given one, ignoring case, in the order they appear in the
+     * address book. Persons keeping their email address private are left out. Constant time, answered from an index.
+     *
+     * @see Email#normalise(String)
+     */
+    public List<ReadOnlyPerson> findPersonsWithEmail(String email) {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (ReadOnlyPerson person : getEmailIndex().getPersonsWithKey(Email.normalise(email))) {
+            if (!person.getEmail().isPrivate()) {
+                found.add(person);
+            }
+        }
+        return allPersons.inListOrder(found);
+    }
+
+    /**
+     * Returns the persons whose addresses contain all of the words in the given text, ignoring case and punctuation,
+     * in the order they appear in the address book. Persons keeping their address private are left out.
+     * Answered from an index, in time proportional to the number of persons having the least common of the words
+     * rather than the address book size.
+     *
+     * @see Utils#getSearchWords(String)
+     */
+    public List<ReadOnlyPerson> findPersonsWithAddressContainingAllWords(String text) {
+        final WordOrdinalIndex addressIndex = getFieldIndex(SearchField.ADDRESS);
+        return allPersons.getPersonsWithOrdinals(addressIndex.getOrdinalsWithAllWords(Utils.getSearchWords(text)));
+    }
+
+    /**
+     * Returns the persons best matching the words in the given text across their name, email address, address and
+     * tags, up to the given limit, best match first. Persons matching equally well are in the order they appear in
+     * the address book. Words are compared as in {@link Utils#getSearchWords(String)}, and fields kept private are
+     * not searched. Answered from an index of each field, in time proportional to the number of persons matching
+     * any of the words rather than the address book size.
+     *
+     * @see RankedSearch
+     */
+    public List<ReadOnlyPerson> searchPersons(String text, int limit) {
+        for (SearchField field : SearchField.values()) {
+            getFieldIndex(field);
+        }
+        final int[] ordinals = RankedSearch.getTopOrdinals(fieldIndexes, Utils.getSearchWords(text),
+                allPersons.immutableListView().size(), ordinal -> allPersons.getPersonWithOrdinal(ordinal) != null,
+                limit);
+        return allPersons.getPersonsWithOrdinals(ordinals);
+    }
+
+    private ExactMatchIndex getPhoneIndex() {
+        if (phoneIndex == null) {
+            phoneIndex = new ExactMatchIndex(person -> Phone.normalise(person.getPhone().value));
+            for (Person p : allPersons) {
+                phoneIndex.add(p);
+            }
+        }
+        return phoneIndex;
+    }
+
+    private SortedKeyIndex getPhoneSuffixIndex() {
+        if (phoneSuffixIndex == null) {
+            phoneSuffixIndex = new SortedKeyIndex(person -> reverse(Phone.normalise(person.getPhone().value)));
+            for (Person p : allPersons) {
+                phoneSuffixIndex.add(p);
+            }
+        }
+        return phoneSuffixIndex;
+    }
+
+    private ExactMatchIndex getEmailIndex() {
+        if (emailIndex == null) {
+            emailIndex = new ExactMatchIndex(person -> Email.normalise(person.getEmail().value));
+            for (Person p : allPersons) {
+                emailIndex.add(p);
+            }
+        }
+        return emailIndex;
+    }
+
+    private WordOrdinalIndex getFieldIndex(SearchField field) {
+        WordOrdinalIndex index = fieldIndexes.get(field);
+        if (index == null) {
+            index = new WordOrdinalIndex(field::getWords);
+            for (Person p : allPersons) {
+                index.add(p, allPersons.getOrdinal(p));
+            }
+            fieldIndexes.put(field, index);
+        }
+        return index;
+    }
+
+    private NameTokenIndex getNameIndex() {
+        if (nameIndex == null) {
+            nameIndex = new NameTokenIndex();
+            for (Person p : allPersons) {
+                nameIndex.add(p);
+            }
+        }
+        return nameIndex;
+    }
+
+    /**
+     * Returns the persons whose tags match the given expression, in the order they appear in the address book.
+     *
+     * @see UniquePersonList#getPersonsMatching(TagExpression)
+     */
+    public List<ReadOnlyPerson> findPersonsMatching(TagExpression expression) {
+        return allPersons.getPersonsMatching(expression);
+    }
+
+    /**
+     * Unmodifiable view of all persons in the address book, in order, for reading them on the thread that changes
+     * the address book. Changes to the address book are immediately visible in it. Unlike
+     * {@link #getAllPersons()}, does not share storage with the address book, so the next change does not have to
+     * copy the persons.
+     */
+    public List<ReadOnlyPerson> getPersonsView() {
+        return allPersons.immutableListView();
+    }
+
+    /**
+     * Unmodifiable view of all tags in the address book, like {@link #getPersonsView()}.
+     */
+    public Collection<Tag> getTagsView() {
+        return allTags.immutableCollectionView();
     }
 
     /**
-     * Defensively copied UniquePersonList of all persons in the address book at the time of the call.
+     * Snapshot of all persons in the address book at the time of the call.
+     * Constant time: the snapshot is a copy-on-write copy that shares storage with the address book.
      */
     public UniquePersonList getAllPersons() {
         return new UniquePersonList(allPersons);
     }
 
     /**
-     * Defensively copied UniqueTagList of all tags in the address book at the time of the call.
+     * Snapshot of all tags in the address book at the time of the call.
+     * Constant time: the snapshot is a copy-on-write copy that shares storage with the address book.
      */
     public UniqueTagList getAllTags() {
         return new UniqueTagList(allTags);
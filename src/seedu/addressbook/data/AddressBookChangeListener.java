@@ -0,0 +1,25 @@
+package seedu.addressbook.data;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+/**
+ * Receives notice of the changes made to an {@link AddressBook}, after each change has been made.
+ *
+ * @see AddressBook#addChangeListener(AddressBookChangeListener)
+ */
+public interface AddressBookChangeListener {
+
+    void personAdded(ReadOnlyPerson person);
+
+    void personRemoved(ReadOnlyPerson person);
+
+    void tagAdded(Tag tag);
+
+    void tagRemoved(Tag tag);
+
+    /**
+     * Called when all persons and tags have been removed from the address book.
+     */
+    void addressBookCleared();
+}
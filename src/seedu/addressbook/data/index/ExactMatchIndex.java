@@ -0,0 +1,109 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A hash index from a key taken from each person, such as a normalised phone number, to the persons having that key.
+ * Kept up to date by the owner of the indexed persons through {@link #add} and {@link #remove}.
+ *
+ * Most keys belong to a single person, so such keys map to the person itself, and only keys shared by several
+ * persons map to a set of them. This keeps the index to one map entry per person in the common case.
+ */
+public class ExactMatchIndex {
+
+    private final Function<ReadOnlyPerson, String> keyOf;
+
+    /** Values are either a single {@link ReadOnlyPerson} or a set of two or more of them. */
+    private final Map<String, Object> personsByKey;
+
+    /**
+     * @param keyOf gives the key to index a person under
+     */
+    public ExactMatchIndex(Function<ReadOnlyPerson, String> keyOf) {
+        this(keyOf, new HashMap<>());
+    }
+
+    /**
+     * @param keyOf gives the key to index a person under
+     * @param personsByKey the empty map to hold the index in
+     */
+    ExactMatchIndex(Function<ReadOnlyPerson, String> keyOf, Map<String, Object> personsByKey) {
+        this.keyOf = keyOf;
+        this.personsByKey = personsByKey;
+    }
+
+    /**
+     * Indexes the given person under its key.
+     */
+    public void add(ReadOnlyPerson person) {
+        personsByKey.merge(keyOf.apply(person), person, (existing, added) -> {
+            final Set<ReadOnlyPerson> persons = toSet(existing);
+            persons.add(person);
+            return persons;
+        });
+    }
+
+    /**
+     * Removes the equivalent person from the index.
+     */
+    public void remove(ReadOnlyPerson person) {
+        final String key = keyOf.apply(person);
+        final Object indexed = personsByKey.get(key);
+        if (indexed instanceof Set) {
+            final Set<?> persons = (Set<?>) indexed;
+            persons.remove(person);
+            if (persons.size() == 1) {
+                personsByKey.put(key, persons.iterator().next());
+            }
+        } else if (person.equals(indexed)) {
+            personsByKey.remove(key);
+        }
+    }
+
+    /**
+     * Returns true if any person has the given key.
+     */
+    public boolean containsKey(String key) {
+        return personsByKey.containsKey(key);
+    }
+
+    /**
+     * Returns the persons having the given key, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public Set<ReadOnlyPerson> getPersonsWithKey(String key) {
+        final Object indexed = personsByKey.get(key);
+        if (indexed == null) {
+            return Collections.emptySet();
+        }
+        if (indexed instanceof Set) {
+            return Collections.unmodifiableSet((Set<ReadOnlyPerson>) indexed);
+        }
+        return Collections.singleton((ReadOnlyPerson) indexed);
+    }
+
+    /**
+     * Adds the persons in the given value of the index to {@code out}.
+     */
+    @SuppressWarnings("unchecked")
+    static void addPersonsTo(Collection<ReadOnlyPerson> out, Object indexed) {
+        if (indexed instanceof Set) {
+            out.addAll((Set<ReadOnlyPerson>) indexed);
+        } else {
+            out.add((ReadOnlyPerson) indexed);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<ReadOnlyPerson> toSet(Object indexed) {
+        if (indexed instanceof Set) {
+            return (Set<ReadOnlyPerson>) indexed;
+        }
+        final Set<ReadOnlyPerson> persons = new HashSet<>();
+        persons.add((ReadOnlyPerson) indexed);
+        return persons;
+    }
+}
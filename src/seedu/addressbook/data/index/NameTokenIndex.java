@@ -0,0 +1,145 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * An inverted index from the words in persons' names to the persons having those words.
+ * Words are compared ignoring case, and kept sorted so that all words starting with a prefix are found together.
+ * The distinct words are also indexed by trigram, to find the words close to a misspelt keyword.
+ * Kept up to date by the owner of the indexed persons through {@link #add}, {@link #remove} and {@link #clear}.
+ */
+public class NameTokenIndex {
+
+    /** Ends a keyword that matches every word starting with the rest of the keyword, e.g. {@code ali*}. */
+    public static final String PREFIX_WILDCARD = "*";
+
+    /** Words in case-folded form. */
+    private final NavigableMap<String, Set<ReadOnlyPerson>> personsByWord = new TreeMap<>();
+    /** The words of {@link #personsByWord}. */
+    private final WordTrigramIndex wordTrigrams = new WordTrigramIndex();
+
+    private static String fold(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexes the given person under every word in its name.
+     */
+    public void add(ReadOnlyPerson person) {
+        for (String word : person.getName().getWordsInName()) {
+            final String foldedWord = fold(word);
+            Set<ReadOnlyPerson> persons = personsByWord.get(foldedWord);
+            if (persons == null) {
+                persons = new HashSet<>();
+                personsByWord.put(foldedWord, persons);
+                wordTrigrams.add(foldedWord);
+            }
+            persons.add(person);
+        }
+    }
+
+    /**
+     * Removes the equivalent person from the index.
+     */
+    public void remove(ReadOnlyPerson person) {
+        for (String word : person.getName().getWordsInName()) {
+            final String foldedWord = fold(word);
+            final Set<ReadOnlyPerson> persons = personsByWord.get(foldedWord);
+            if (persons == null) {
+                continue;
+            }
+            persons.remove(person);
+            if (persons.isEmpty()) {
+                personsByWord.remove(foldedWord);
+                wordTrigrams.remove(foldedWord);
+            }
+        }
+    }
+
+    /**
+     * Removes all persons from the index.
+     */
+    public void clear() {
+        personsByWord.clear();
+        wordTrigrams.clear();
+    }
+
+    /**
+     * Returns the number of edits a word may be away from the given keyword to be considered close to it:
+     * none for keywords of up to 2 characters, 1 for up to 5 characters and 2 for longer ones.
+     */
+    public static int getMaxEditDistance(String keyword) {
+        return keyword.length() <= 2 ? 0 : keyword.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Returns the persons whose names contain a word close to at least one of the given keywords, ignoring case,
+     * grouped by the smallest edit distance between one of their words and a keyword.
+     * Each group is given as the sets of persons having each word at that distance, which may overlap each other
+     * and the groups of smaller distances.
+     *
+     * @see #getMaxEditDistance(String)
+     */
+    public SortedMap<Integer, List<Set<ReadOnlyPerson>>> getPersonsWithWordNearAnyKeyword(
+            Collection<String> keywords) {
+        final Map<String, Integer> wordDistances = new HashMap<>();
+        for (String keyword : keywords) {
+            final String foldedKeyword = fold(keyword);
+            final Map<String, Integer> nearWords =
+                    wordTrigrams.getWordsNear(foldedKeyword, getMaxEditDistance(foldedKeyword));
+            for (Map.Entry<String, Integer> nearWord : nearWords.entrySet()) {
+                wordDistances.merge(nearWord.getKey(), nearWord.getValue(), Math::min);
+            }
+        }
+
+        final SortedMap<Integer, List<Set<ReadOnlyPerson>>> personsByDistance = new TreeMap<>();
+        for (Map.Entry<String, Integer> wordDistance : wordDistances.entrySet()) {
+            personsByDistance.computeIfAbsent(wordDistance.getValue(), d -> new ArrayList<>())
+                    .add(personsByWord.get(wordDistance.getKey()));
+        }
+        return personsByDistance;
+    }
+
+    /**
+     * Returns a test of whether a word matches the given keyword as in
+     * {@link #getPersonsMatchingAnyKeyword(Collection)}, for checking words that are not indexed.
+     * The keyword is folded once, so the test is cheap enough to run against every word of every person.
+     */
+    public static Predicate<String> getWordMatcher(String keyword) {
+        final String foldedKeyword = fold(keyword);
+        if (foldedKeyword.endsWith(PREFIX_WILDCARD)) {
+            final String prefix = foldedKeyword.substring(0, foldedKeyword.length() - PREFIX_WILDCARD.length());
+            return word -> fold(word).startsWith(prefix);
+        }
+        return word -> fold(word).equals(foldedKeyword);
+    }
+
+    /**
+     * Returns the persons whose names contain a word matching at least one of the given keywords, ignoring case.
+     * A keyword ending with {@link #PREFIX_WILDCARD} matches the words starting with the rest of it, and any other
+     * keyword matches only the word equal to it.
+     * Takes time proportional to the length of the keywords and the number of matches, plus a logarithmic number of
+     * word comparisons per keyword, not the number of indexed persons.
+     */
+    public Set<ReadOnlyPerson> getPersonsMatchingAnyKeyword(Collection<String> keywords) {
+        final Set<ReadOnlyPerson> matches = new HashSet<>();
+        for (String keyword : keywords) {
+            final String foldedKeyword = fold(keyword);
+            if (foldedKeyword.endsWith(PREFIX_WILDCARD)) {
+                final String prefix = foldedKeyword.substring(0, foldedKeyword.length() - PREFIX_WILDCARD.length());
+                for (Set<ReadOnlyPerson> persons : SortedMaps.withKeysStartingWith(personsByWord, prefix).values()) {
+                    matches.addAll(persons);
+                }
+            } else {
+                final Set<ReadOnlyPerson> persons = personsByWord.get(foldedKeyword);
+                if (persons != null) {
+                    matches.addAll(persons);
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,507 @@
+package seedu.addressbook.data.index;
+
+import java.util.Arrays;
+
+/**
+ * A compressed set of non-negative ints, used to hold the ordinals of persons.
+ *
+ * Laid out like a Roaring bitmap: the ints are grouped into chunks by their high 16 bits, and each chunk keeps the
+ * low 16 bits of its ints either as a sorted array, while it holds at most {@link #ARRAY_CHUNK_MAX_SIZE} of them,
+ * or as a bitmap of 1024 words otherwise. Sparse sets thus take 2 bytes per int and dense ones 1 bit per int,
+ * and set operations between dense chunks are bitwise operations on whole words.
+ */
+public class OrdinalBitmap {
+
+    /** Largest number of ints held by a chunk in array form; a bitmap chunk takes the same space at this size. */
+    static final int ARRAY_CHUNK_MAX_SIZE = 4096;
+
+    private static final int BITMAP_CHUNK_WORDS = 1 << 10;
+
+    /** High 16 bits of the ints in each chunk, ascending. */
+    private char[] keys;
+    private Chunk[] chunks;
+    private int chunkCount;
+
+    /**
+     * Constructs an empty bitmap.
+     */
+    public OrdinalBitmap() {
+        this(4);
+    }
+
+    private OrdinalBitmap(int initialChunkCapacity) {
+        keys = new char[initialChunkCapacity];
+        chunks = new Chunk[initialChunkCapacity];
+    }
+
+    private static char highBits(int ordinal) {
+        return (char) (ordinal >>> 16);
+    }
+
+    private static char lowBits(int ordinal) {
+        return (char) ordinal;
+    }
+
+    private int findChunk(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void appendChunk(char key, Chunk chunk) {
+        insertChunk(chunkCount, key, chunk);
+    }
+
+    private void insertChunk(int position, char key, Chunk chunk) {
+        if (chunkCount == keys.length) {
+            keys = Arrays.copyOf(keys, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(keys, position, keys, position + 1, chunkCount - position);
+        System.arraycopy(chunks, position, chunks, position + 1, chunkCount - position);
+        keys[position] = key;
+        chunks[position] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(keys, position + 1, keys, position, chunkCount - position - 1);
+        System.arraycopy(chunks, position + 1, chunks, position, chunkCount - position - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    /**
+     * Adds the given ordinal to this bitmap, if not already present.
+     */
+    public void add(int ordinal) {
+        assert ordinal >= 0;
+        final char key = highBits(ordinal);
+        final int position = findChunk(key);
+        if (position >= 0) {
+            chunks[position] = chunks[position].add(lowBits(ordinal));
+        } else {
+            insertChunk(-position - 1, key, new ArrayChunk().add(lowBits(ordinal)));
+        }
+    }
+
+    /**
+     * Removes the given ordinal from this bitmap, if present.
+     */
+    public void remove(int ordinal) {
+        final int position = findChunk(highBits(ordinal));
+        if (position < 0) {
+            return;
+        }
+        final Chunk chunk = chunks[position].remove(lowBits(ordinal));
+        if (chunk.cardinality() == 0) {
+            removeChunk(position);
+        } else {
+            chunks[position] = chunk;
+        }
+    }
+
+    /**
+     * Returns true if the given ordinal is in this bitmap.
+     */
+    public boolean contains(int ordinal) {
+        final int position = findChunk(highBits(ordinal));
+        return position >= 0 && chunks[position].contains(lowBits(ordinal));
+    }
+
+    /**
+     * Returns the number of ordinals in this bitmap.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            cardinality += chunks[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Returns a new bitmap holding the ordinals in both this and the other bitmap.
+     */
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        final OrdinalBitmap result = new OrdinalBitmap(Math.max(Math.min(chunkCount, other.chunkCount), 4));
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(keys[i], chunks[i].and(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap holding the ordinals in either this or the other bitmap.
+     */
+    public OrdinalBitmap or(OrdinalBitmap other) {
+        final OrdinalBitmap result = new OrdinalBitmap(Math.max(chunkCount + other.chunkCount, 4));
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.appendChunk(keys[i], chunks[i].copy());
+                i++;
+            } else if (i == chunkCount || keys[i] > other.keys[j]) {
+                result.appendChunk(other.keys[j], other.chunks[j].copy());
+                j++;
+            } else {
+                result.appendChunk(keys[i], chunks[i].or(other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new bitmap holding the ordinals in this bitmap that are not in the other bitmap.
+     */
+    public OrdinalBitmap andNot(OrdinalBitmap other) {
+        final OrdinalBitmap result = new OrdinalBitmap(Math.max(chunkCount, 4));
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.chunkCount && other.keys[j] == keys[i]) {
+                result.appendIfNotEmpty(keys[i], chunks[i].andNot(other.chunks[j]));
+            } else {
+                result.appendChunk(keys[i], chunks[i].copy());
+            }
+        }
+        return result;
+    }
+
+    private void appendIfNotEmpty(char key, Chunk chunk) {
+        if (chunk.cardinality() > 0) {
+            appendChunk(key, chunk);
+        }
+    }
+
+    /**
+     * Returns the ordinals in this bitmap in ascending order.
+     */
+    public int[] toArray() {
+        final int[] ordinals = new int[cardinality()];
+        int count = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            count = chunks[i].copyTo(ordinals, count, keys[i] << 16);
+        }
+        return ordinals;
+    }
+
+    /**
+     * The low 16 bits of the ints in one chunk of a bitmap.
+     * Operations that may change the form of a chunk return the chunk to use from then on.
+     */
+    private abstract static class Chunk {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract Chunk copy();
+
+        /** Returns a new chunk holding the values in both chunks. */
+        abstract Chunk and(Chunk other);
+
+        /** Returns a new chunk holding the values in either chunk. */
+        abstract Chunk or(Chunk other);
+
+        /** Returns a new chunk holding the values in this chunk but not in the other. */
+        abstract Chunk andNot(Chunk other);
+
+        /**
+         * Writes the values in this chunk in ascending order into {@code out}, starting at {@code position} and
+         * with the given high bits added, and returns the position after the last value written.
+         */
+        abstract int copyTo(int[] out, int position, int highBits);
+    }
+
+    /**
+     * A chunk holding its values in a sorted array.
+     */
+    private static class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int size;
+
+        ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            final int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return this;
+            }
+            if (size == ARRAY_CHUNK_MAX_SIZE) {
+                return toBitmapChunk().add(value);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_CHUNK_MAX_SIZE));
+            }
+            final int insertAt = -position - 1;
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            final int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, size - position - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, Math.max(size, 4)), size);
+        }
+
+        BitmapChunk toBitmapChunk() {
+            final BitmapChunk bitmap = new BitmapChunk();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            final char[] common = new char[Math.max(size, 1)];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    common[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(common, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            final ArrayChunk otherArray = (ArrayChunk) other;
+            final char[] merged = new char[size + otherArray.size];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < otherArray.size) {
+                if (j == otherArray.size || (i < size && values[i] < otherArray.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == size || values[i] > otherArray.values[j]) {
+                    merged[count++] = otherArray.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+            final ArrayChunk union = new ArrayChunk(merged, count);
+            return count <= ARRAY_CHUNK_MAX_SIZE ? union : union.toBitmapChunk();
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            final char[] remaining = new char[Math.max(size, 1)];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    remaining[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(remaining, count);
+        }
+
+        @Override
+        int copyTo(int[] out, int position, int highBits) {
+            for (int i = 0; i < size; i++) {
+                out[position++] = highBits | values[i];
+            }
+            return position;
+        }
+    }
+
+    /**
+     * A chunk holding its values as the set bits of 1024 words.
+     */
+    private static class BitmapChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapChunk() {
+            this(new long[BITMAP_CHUNK_WORDS], 0);
+        }
+
+        BitmapChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        private static BitmapChunk ofWords(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return new BitmapChunk(words, cardinality);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Chunk add(char value) {
+            final long word = words[value >>> 6];
+            final long updated = word | (1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            final long word = words[value >>> 6];
+            final long updated = word & ~(1L << value);
+            if (updated != word) {
+                words[value >>> 6] = updated;
+                cardinality--;
+            }
+            return compacted();
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitmapChunk(words.clone(), cardinality);
+        }
+
+        /**
+         * Returns this chunk in array form if it is small enough for it.
+         */
+        private Chunk compacted() {
+            return cardinality > ARRAY_CHUNK_MAX_SIZE ? this : toArrayChunk();
+        }
+
+        private ArrayChunk toArrayChunk() {
+            final char[] values = new char[Math.max(cardinality, 4)];
+            copyTo(values);
+            return new ArrayChunk(values, cardinality);
+        }
+
+        private void copyTo(char[] out) {
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    out[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            final long[] otherWords = ((BitmapChunk) other).words;
+            final long[] common = new long[BITMAP_CHUNK_WORDS];
+            for (int i = 0; i < BITMAP_CHUNK_WORDS; i++) {
+                common[i] = words[i] & otherWords[i];
+            }
+            return ofWords(common).compacted();
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            final long[] union = words.clone();
+            if (other instanceof ArrayChunk) {
+                final ArrayChunk otherArray = (ArrayChunk) other;
+                for (int i = 0; i < otherArray.size; i++) {
+                    final char value = otherArray.values[i];
+                    union[value >>> 6] |= 1L << value;
+                }
+            } else {
+                final long[] otherWords = ((BitmapChunk) other).words;
+                for (int i = 0; i < BITMAP_CHUNK_WORDS; i++) {
+                    union[i] |= otherWords[i];
+                }
+            }
+            return ofWords(union);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            final long[] remaining = words.clone();
+            if (other instanceof ArrayChunk) {
+                final ArrayChunk otherArray = (ArrayChunk) other;
+                for (int i = 0; i < otherArray.size; i++) {
+                    final char value = otherArray.values[i];
+                    remaining[value >>> 6] &= ~(1L << value);
+                }
+            } else {
+                final long[] otherWords = ((BitmapChunk) other).words;
+                for (int i = 0; i < BITMAP_CHUNK_WORDS; i++) {
+                    remaining[i] &= ~otherWords[i];
+                }
+            }
+            return ofWords(remaining).compacted();
+        }
+
+        @Override
+        int copyTo(int[] out, int position, int highBits) {
+            for (int i = 0; i < words.length; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    out[position++] = highBits | (i << 6) | Long.numberOfTrailingZeros(word);
+                }
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package seedu.addressbook.data.index;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Ranks persons by how well the words in their fields match a set of query words, using the BM25 scoring function
+ * over a {@link WordOrdinalIndex} of each {@link SearchField}.
+ *
+ * Each query word found in a field of a person adds to the person's score. Words found in fewer persons add more,
+ * as they tell persons apart better, and words found in a field with fewer words add more, as they make up more of
+ * it. The contributions of each field are multiplied by its {@link SearchField#weight}. Fields hold each word once,
+ * so how often a word appears in a field is not considered.
+ */
+public class RankedSearch {
+
+    /** How quickly the contribution of a word saturates. Only matters through field lengths, see {@link #B}. */
+    private static final double K1 = 1.2;
+    /** How much the contribution of a word is scaled down in fields with more words than average, from 0 to 1. */
+    private static final double B = 0.75;
+
+    private RankedSearch() {}
+
+    /**
+     * Returns the ordinals of the persons with the highest scores for the given words, up to the given limit,
+     * highest first. Persons with equal scores are ordered by ordinal. Persons matching none of the words are
+     * left out.
+     *
+     * Only the ordinals of persons having at least one of the words are looked at, and the best are picked with a
+     * heap bounded by the limit, so the time taken is proportional to the number of matching persons times the
+     * logarithm of the limit, rather than to the number of persons or the number of matches times its logarithm.
+     *
+     * @param fieldIndexes the index of each field to search
+     * @param words distinct words as split by {@link seedu.addressbook.common.Utils#getSearchWords(String)}
+     * @param personCount the number of persons that can be found, excluding removed persons
+     * @param isLive tells whether an ordinal in the indexes still belongs to a person
+     */
+    public static int[] getTopOrdinals(Map<SearchField, WordOrdinalIndex> fieldIndexes, Collection<String> words,
+                                       int personCount, IntPredicate isLive, int limit) {
+        final ScoreTable scores = new ScoreTable();
+
+        for (Map.Entry<SearchField, WordOrdinalIndex> entry : fieldIndexes.entrySet()) {
+            final double weight = entry.getKey().weight;
+            final WordOrdinalIndex index = entry.getValue();
+            final double averageWordCount = index.getAverageWordCount();
+            if (averageWordCount == 0) {
+                continue; // every person indexed was removed
+            }
+            for (String word : words) {
+                final int ordinalCount = index.getOrdinalCount(word);
+                if (ordinalCount == 0) {
+                    continue;
+                }
+                // removed persons are still counted by the index until it is rebuilt
+                final int documentCount = Math.max(personCount, ordinalCount);
+                final double idf = Math.log(1 + (documentCount - ordinalCount + 0.5) / (ordinalCount + 0.5));
+                index.forEachOrdinalWithWord(word, ordinal -> {
+                    final double lengthRatio = index.getWordCount(ordinal) / averageWordCount;
+                    scores.add(ordinal, weight * idf * (K1 + 1) / (1 + K1 * (1 - B + B * lengthRatio)));
+                });
+            }
+        }
+        return scores.getTopOrdinals(isLive, limit);
+    }
+
+    /**
+     * The scores of the persons matching at least one word so far, by ordinal. A hash table with open addressing
+     * over parallel arrays of ordinals and scores, so that its size follows the number of persons scored rather
+     * than the largest ordinal, and no object is created per person.
+     */
+    private static class ScoreTable {
+        private static final int NO_ORDINAL = -1;
+        private static final int INITIAL_CAPACITY = 64;
+
+        /** The ordinal in each slot, or {@link #NO_ORDINAL}. The length is a power of two. */
+        private int[] ordinals = newOrdinals(INITIAL_CAPACITY);
+        private float[] scores = new float[INITIAL_CAPACITY];
+        private int scoredCount;
+
+        private static int[] newOrdinals(int capacity) {
+            final int[] ordinals = new int[capacity];
+            Arrays.fill(ordinals, NO_ORDINAL);
+            return ordinals;
+        }
+
+        void add(int ordinal, double score) {
+            int slot = findSlot(ordinals, ordinal);
+            if (ordinals[slot] == NO_ORDINAL) {
+                if (2 * (scoredCount + 1) > ordinals.length) {
+                    grow();
+                    slot = findSlot(ordinals, ordinal);
+                }
+                ordinals[slot] = ordinal;
+                scoredCount++;
+            }
+            scores[slot] += score;
+        }
+
+        /**
+         * Returns the slot holding the given ordinal, or the empty slot where it belongs. Ordinals are mostly
+         * consecutive, so they are scrambled by a multiplicative hash, whose top bits pick the first slot to try.
+         */
+        private static int findSlot(int[] ordinals, int ordinal) {
+            final int mask = ordinals.length - 1;
+            int slot = (ordinal * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+            while (ordinals[slot] != NO_ORDINAL && ordinals[slot] != ordinal) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            final int[] oldOrdinals = ordinals;
+            final float[] oldScores = scores;
+            ordinals = newOrdinals(oldOrdinals.length * 2);
+            scores = new float[oldOrdinals.length * 2];
+            for (int i = 0; i < oldOrdinals.length; i++) {
+                if (oldOrdinals[i] != NO_ORDINAL) {
+                    final int slot = findSlot(ordinals, oldOrdinals[i]);
+                    ordinals[slot] = oldOrdinals[i];
+                    scores[slot] = oldScores[i];
+                }
+            }
+        }
+
+        /**
+         * Picks the best live ordinals with a min-heap holding the best found so far, whose smallest is replaced
+         * whenever a better one is found. Each ordinal is packed with its score into a single key that orders by
+         * score, then by ordinal, so that keys compare as whole numbers.
+         */
+        int[] getTopOrdinals(IntPredicate isLive, int limit) {
+            if (limit <= 0) {
+                return new int[0];
+            }
+            final PriorityQueue<Long> best = new PriorityQueue<>(Math.min(limit, scoredCount + 1));
+            for (int i = 0; i < ordinals.length; i++) {
+                final int ordinal = ordinals[i];
+                if (ordinal == NO_ORDINAL || !isLive.test(ordinal)) {
+                    continue;
+                }
+                final long key = toKey(scores[i], ordinal);
+                if (best.size() < limit) {
+                    best.add(key);
+                } else if (key > best.peek()) {
+                    best.poll();
+                    best.add(key);
+                }
+            }
+            final int[] ordinals = new int[best.size()];
+            for (int i = ordinals.length - 1; i >= 0; i--) {
+                ordinals[i] = toOrdinal(best.poll());
+            }
+            return ordinals;
+        }
+
+        /**
+         * Scores are positive, so the bits of their float representation order the same way as the scores.
+         * Smaller ordinals get larger keys, to come first among equal scores.
+         */
+        private static long toKey(float score, int ordinal) {
+            return ((long) Float.floatToIntBits(score) << 32) | (Integer.MAX_VALUE - ordinal);
+        }
+
+        private static int toOrdinal(long key) {
+            return Integer.MAX_VALUE - (int) key;
+        }
+    }
+}
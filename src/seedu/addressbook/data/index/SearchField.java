@@ -0,0 +1,63 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.common.Utils;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+import java.util.*;
+
+/**
+ * A field of persons that can be searched by the words in it, and how much a word found in it counts towards
+ * ranking a person in a search. Fields kept private by a person have no words.
+ *
+ * @see RankedSearch
+ */
+public enum SearchField {
+
+    NAME(3.0) {
+        @Override
+        public Set<String> getWords(ReadOnlyPerson person) {
+            return Utils.getSearchWords(person.getName().fullName);
+        }
+    },
+    /** Both the local part and the domain of the email address, e.g. {@code johnd}, {@code gmail} and {@code com}. */
+    EMAIL(1.0) {
+        @Override
+        public Set<String> getWords(ReadOnlyPerson person) {
+            return person.getEmail().isPrivate()
+                    ? Collections.emptySet()
+                    : Utils.getSearchWords(person.getEmail().value);
+        }
+    },
+    ADDRESS(1.0) {
+        @Override
+        public Set<String> getWords(ReadOnlyPerson person) {
+            return person.getAddress().isPrivate()
+                    ? Collections.emptySet()
+                    : person.getAddress().getWordsInAddress();
+        }
+    },
+    TAGS(2.0) {
+        @Override
+        public Set<String> getWords(ReadOnlyPerson person) {
+            final Set<String> words = new LinkedHashSet<>();
+            for (Tag tag : person.getTags()) {
+                words.addAll(Utils.getSearchWords(tag.tagName));
+            }
+            return words;
+        }
+    };
+
+    /** Multiplies the score of the words found in this field. */
+    public final double weight;
+
+    SearchField(double weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the distinct words in this field of the given person, as split by
+     * {@link Utils#getSearchWords(String)}, or none if the person keeps the field private.
+     */
+    public abstract Set<String> getWords(ReadOnlyPerson person);
+}
@@ -0,0 +1,39 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An {@link ExactMatchIndex} that keeps its keys sorted, so that the persons whose keys start with a prefix
+ * are found together. Exact lookups take a logarithmic number of key comparisons instead of constant time.
+ */
+public class SortedKeyIndex extends ExactMatchIndex {
+
+    private final NavigableMap<String, Object> personsByKey;
+
+    /**
+     * @param keyOf gives the key to index a person under
+     */
+    public SortedKeyIndex(Function<ReadOnlyPerson, String> keyOf) {
+        this(keyOf, new TreeMap<>());
+    }
+
+    private SortedKeyIndex(Function<ReadOnlyPerson, String> keyOf, NavigableMap<String, Object> personsByKey) {
+        super(keyOf, personsByKey);
+        this.personsByKey = personsByKey;
+    }
+
+    /**
+     * Returns the persons whose keys start with the given prefix, in no particular order.
+     * Takes a logarithmic number of key comparisons plus time proportional to the number of matches.
+     */
+    public List<ReadOnlyPerson> getPersonsWithKeyStartingWith(String prefix) {
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        for (Object indexed : SortedMaps.withKeysStartingWith(personsByKey, prefix).values()) {
+            addPersonsTo(found, indexed);
+        }
+        return found;
+    }
+}
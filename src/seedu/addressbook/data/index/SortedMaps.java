@@ -0,0 +1,27 @@
+package seedu.addressbook.data.index;
+
+import java.util.NavigableMap;
+import java.util.SortedMap;
+
+/**
+ * Utility methods for sorted maps with string keys.
+ */
+class SortedMaps {
+
+    /**
+     * Returns a view of the entries of the given map whose keys start with the given prefix.
+     * Such keys sort between the prefix and the prefix with its last character incremented, so the view is found
+     * with a logarithmic number of key comparisons, however many entries it holds.
+     */
+    static <V> SortedMap<String, V> withKeysStartingWith(NavigableMap<String, V> map, String prefix) {
+        if (prefix.isEmpty()) {
+            return map;
+        }
+        final char last = prefix.charAt(prefix.length() - 1);
+        if (last == Character.MAX_VALUE) {
+            return map.tailMap(prefix, true);
+        }
+        final String end = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+        return map.subMap(prefix, true, end, false);
+    }
+}
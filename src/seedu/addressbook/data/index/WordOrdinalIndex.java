@@ -0,0 +1,238 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * An inverted index from the words in one field of persons, such as their addresses, to the ordinals of the persons
+ * having those words, as given by the owner of the indexed persons. Persons without words in the field, such as
+ * those keeping the field private, are not indexed.
+ * Kept up to date by the owner of the indexed persons through {@link #add} and {@link #remove}.
+ *
+ * Fields can hold many words per person, and common words such as street names are shared by many persons,
+ * so the ordinals of each word are kept compressed rather than as sets of persons: as the gaps between ascending
+ * ordinals, in a variable number of bytes each. Gaps between persons sharing a common word are small and take a
+ * single byte. Ordinals must therefore be given in ascending order as persons are added.
+ *
+ * Removed persons are not taken out of the compressed lists, as that would mean rewriting them. Their ordinals
+ * stay in the index until it is rebuilt, and are left for the owner to skip when turning ordinals back into
+ * persons. The owner should rebuild the index once {@link #isMostlyStale()}.
+ *
+ * @see seedu.addressbook.common.Utils#getSearchWords(String)
+ */
+public class WordOrdinalIndex {
+
+    private final Function<ReadOnlyPerson, Set<String>> wordsOf;
+
+    private final Map<String, PostingList> ordinalsByWord = new HashMap<>();
+
+    /** Number of words of the person with each ordinal, capped at 255. */
+    private byte[] wordCounts = new byte[16];
+
+    /** Number of persons indexed, including those since removed. */
+    private int indexedCount;
+    /** Number of persons indexed and since removed. */
+    private int removedCount;
+    /** Number of words of the persons indexed and not removed. */
+    private long liveWordCount;
+
+    /**
+     * @param wordsOf gives the distinct words to index a person under, as split by
+     *                {@link seedu.addressbook.common.Utils#getSearchWords(String)}
+     */
+    public WordOrdinalIndex(Function<ReadOnlyPerson, Set<String>> wordsOf) {
+        this.wordsOf = wordsOf;
+    }
+
+    /**
+     * Indexes the given person under each of its words, if it has any.
+     *
+     * @param ordinal must be greater than the ordinals of all persons indexed before
+     */
+    public void add(ReadOnlyPerson person, int ordinal) {
+        final Set<String> words = wordsOf.apply(person);
+        if (words.isEmpty()) {
+            return;
+        }
+        for (String word : words) {
+            ordinalsByWord.computeIfAbsent(word, w -> new PostingList()).add(ordinal);
+        }
+        if (ordinal >= wordCounts.length) {
+            wordCounts = Arrays.copyOf(wordCounts, Math.max(ordinal + 1, wordCounts.length * 2));
+        }
+        wordCounts[ordinal] = (byte) Math.min(words.size(), 255);
+        indexedCount++;
+        liveWordCount += words.size();
+    }
+
+    /**
+     * Records that the given indexed person was removed. Its ordinal is still returned by searches.
+     */
+    public void remove(ReadOnlyPerson person) {
+        final Set<String> words = wordsOf.apply(person);
+        if (!words.isEmpty()) {
+            removedCount++;
+            liveWordCount -= words.size();
+        }
+    }
+
+    /**
+     * Returns true if most of the ordinals in the index belong to removed persons, so that the index is better
+     * rebuilt from the remaining persons.
+     */
+    public boolean isMostlyStale() {
+        return removedCount > indexedCount - removedCount;
+    }
+
+    /**
+     * Returns the ordinals of the persons having all of the given words, in ascending order.
+     * May include the ordinals of removed persons.
+     *
+     * Intersects the lists of the words starting from the shortest, so the time taken is bounded by the length of
+     * the shortest list times the number of words, plus the length of the lists.
+     */
+    public int[] getOrdinalsWithAllWords(Collection<String> words) {
+        final List<PostingList> lists = new ArrayList<>();
+        for (String word : words) {
+            final PostingList list = ordinalsByWord.get(word);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(list -> list.count));
+
+        int[] ordinals = lists.get(0).toArray();
+        int count = ordinals.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(ordinals, count);
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+
+    /**
+     * Passes the ordinals of the persons having the given word to {@code action}, in ascending order.
+     * May include the ordinals of removed persons.
+     */
+    public void forEachOrdinalWithWord(String word, IntConsumer action) {
+        final PostingList list = ordinalsByWord.get(word);
+        if (list != null) {
+            list.forEach(action);
+        }
+    }
+
+    /**
+     * Returns the number of persons having the given word, counting removed persons until the index is rebuilt.
+     */
+    public int getOrdinalCount(String word) {
+        final PostingList list = ordinalsByWord.get(word);
+        return list == null ? 0 : list.count;
+    }
+
+    /**
+     * Returns the number of words of the indexed person with the given ordinal, capped at 255.
+     */
+    public int getWordCount(int ordinal) {
+        return ordinal < wordCounts.length ? wordCounts[ordinal] & 0xFF : 0;
+    }
+
+    /**
+     * Returns the average number of words of the indexed persons that were not removed, or 0 if there are none.
+     */
+    public double getAverageWordCount() {
+        final int liveCount = indexedCount - removedCount;
+        return liveCount == 0 ? 0 : (double) liveWordCount / liveCount;
+    }
+
+    /**
+     * Ascending ordinals, stored as the gaps between them in 7 bits per byte, low bits first,
+     * with the high bit of each byte set if more bytes of the same gap follow.
+     */
+    private static class PostingList {
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int count;
+        private int lastOrdinal = -1;
+
+        void add(int ordinal) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + 5, bytes.length + (bytes.length >> 1)));
+            }
+            int gap = ordinal - lastOrdinal;
+            while (gap >= 0x80) {
+                bytes[length++] = (byte) (gap | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+            lastOrdinal = ordinal;
+            count++;
+        }
+
+        void forEach(IntConsumer action) {
+            int position = 0;
+            int ordinal = -1;
+            while (position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                ordinal += gap;
+                action.accept(ordinal);
+            }
+        }
+
+        int[] toArray() {
+            final int[] ordinals = new int[count];
+            forEach(new IntConsumer() {
+                private int next;
+
+                @Override
+                public void accept(int ordinal) {
+                    ordinals[next++] = ordinal;
+                }
+            });
+            return ordinals;
+        }
+
+        /**
+         * Keeps only the first {@code count} of the given ascending ordinals that are also in this list,
+         * moving them to the front of the array, and returns how many were kept.
+         * Decodes this list as it goes, and stops once past the last given ordinal.
+         */
+        int retainAll(int[] ordinals, int count) {
+            int kept = 0;
+            int next = 0;
+            int position = 0;
+            int ordinal = -1;
+            while (next < count && position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                ordinal += gap;
+                while (next < count && ordinals[next] < ordinal) {
+                    next++;
+                }
+                if (next < count && ordinals[next] == ordinal) {
+                    ordinals[kept++] = ordinal;
+                    next++;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package seedu.addressbook.data.index;
+
+import seedu.addressbook.common.Utils;
+
+import java.util.*;
+
+/**
+ * An index from trigrams, the runs of three characters in a word, to the words containing them.
+ * Used to find the words within a small edit distance of a keyword without comparing the keyword to every word:
+ * an edit changes at most three trigrams, so only words sharing enough trigrams with the keyword are compared.
+ * Words are padded with a boundary character on both sides, so a word of n characters has n trigrams.
+ *
+ * A keyword with no more than three trigrams per edit allowed may share none with a word within the distance,
+ * such as "tom" and "tim". Such keywords are short, so they are instead compared to every word of a length within
+ * the distance of theirs, which the index also keeps.
+ */
+public class WordTrigramIndex {
+
+    private static final char BOUNDARY = '$';
+
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<Integer, Set<String>> wordsByLength = new HashMap<>();
+
+    private static Set<String> getTrigrams(String word) {
+        final String padded = BOUNDARY + word + BOUNDARY;
+        final Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Indexes the given word under each of its trigrams and its length.
+     */
+    public void add(String word) {
+        for (String trigram : getTrigrams(word)) {
+            wordsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(word);
+        }
+        wordsByLength.computeIfAbsent(word.length(), l -> new HashSet<>()).add(word);
+    }
+
+    /**
+     * Removes the given word from the index.
+     */
+    public void remove(String word) {
+        for (String trigram : getTrigrams(word)) {
+            final Set<String> words = wordsByTrigram.get(trigram);
+            if (words == null) {
+                continue;
+            }
+            words.remove(word);
+            if (words.isEmpty()) {
+                wordsByTrigram.remove(trigram);
+            }
+        }
+        final Set<String> words = wordsByLength.get(word.length());
+        if (words != null) {
+            words.remove(word);
+            if (words.isEmpty()) {
+                wordsByLength.remove(word.length());
+            }
+        }
+    }
+
+    /**
+     * Removes all words from the index.
+     */
+    public void clear() {
+        wordsByTrigram.clear();
+        wordsByLength.clear();
+    }
+
+    /**
+     * Returns the indexed words within the given edit distance of the keyword, mapped to their distance from it.
+     */
+    public Map<String, Integer> getWordsNear(String keyword, int maxDistance) {
+        final Set<String> keywordTrigrams = getTrigrams(keyword);
+        // each edit removes at most three of the keyword's trigrams
+        final int minSharedTrigrams = keywordTrigrams.size() - 3 * maxDistance;
+        if (minSharedTrigrams < 1) {
+            return getWordsNearByLength(keyword, maxDistance);
+        }
+
+        final Map<String, Integer> sharedTrigramCounts = new HashMap<>();
+        for (String trigram : keywordTrigrams) {
+            for (String word : wordsByTrigram.getOrDefault(trigram, Collections.emptySet())) {
+                sharedTrigramCounts.merge(word, 1, Integer::sum);
+            }
+        }
+
+        final Map<String, Integer> distances = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : sharedTrigramCounts.entrySet()) {
+            if (candidate.getValue() < minSharedTrigrams) {
+                continue;
+            }
+            final int distance = Utils.boundedEditDistance(keyword, candidate.getKey(), maxDistance);
+            if (distance <= maxDistance) {
+                distances.put(candidate.getKey(), distance);
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Compares the keyword to every indexed word whose length is within the given edit distance of its own.
+     */
+    private Map<String, Integer> getWordsNearByLength(String keyword, int maxDistance) {
+        final Map<String, Integer> distances = new HashMap<>();
+        for (int length = keyword.length() - maxDistance; length <= keyword.length() + maxDistance; length++) {
+            for (String word : wordsByLength.getOrDefault(length, Collections.emptySet())) {
+                final int distance = Utils.boundedEditDistance(keyword, word, maxDistance);
+                if (distance <= maxDistance) {
+                    distances.put(word, distance);
+                }
+            }
+        }
+        return distances;
+    }
+}
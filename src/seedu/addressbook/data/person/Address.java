@@ -1,7 +1,10 @@
 package seedu.addressbook.data.person;
 
+import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
 
+import java.util.Set;
+
 /**
  * Represents a Person's address in the address book.
  * Guarantees: immutable; is valid as declared in {@link #isValidAddress(String)}
@@ -35,6 +38,13 @@ public class Address {
         return test.matches(ADDRESS_VALIDATION_REGEX);
     }
 
+    /**
+     * Returns the distinct words in this address, as compared when searching, see {@link Utils#getSearchWords(String)}.
+     */
+    public Set<String> getWordsInAddress() {
+        return Utils.getSearchWords(value);
+    }
+
     @Override
     public String toString() {
         return value;
@@ -2,6 +2,8 @@ package seedu.addressbook.data.person;
 
 import seedu.addressbook.data.exception.IllegalValueException;
 
+import java.util.Locale;
+
 /**
  * Represents a Person's email in the address book.
  * Guarantees: immutable; is valid as declared in {@link #isValidEmail(String)}
@@ -37,6 +39,13 @@ public class Email {
         return test.matches(EMAIL_VALIDATION_REGEX);
     }
 
+    /**
+     * Returns the given email address in lower case, so that addresses differing only in case can be compared.
+     */
+    public static String normalise(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public String toString() {
         return value;
@@ -76,7 +76,8 @@ public class Person implements ReadOnlyPerson {
     @Override
     public int hashCode() {
         // use this method for custom fields hashing instead of implementing your own
-        return Objects.hash(name, phone, email, address, tags);
+        // tags are left out to stay consistent with equals, which ignores them (see ReadOnlyPerson#isSameStateAs)
+        return Objects.hash(name, phone, email, address);
     }
 
     @Override
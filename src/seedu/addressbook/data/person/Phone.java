@@ -36,6 +36,14 @@ public class Phone {
         return test.matches(PHONE_VALIDATION_REGEX);
     }
 
+    /**
+     * Returns the given phone number without spaces and dashes, so that numbers written with them can be compared
+     * to stored numbers. The result is only a valid phone number if nothing else separated the digits.
+     */
+    public static String normalise(String phone) {
+        return phone.replaceAll("[\\s-]", "");
+    }
+
     @Override
     public String toString() {
         return value;
@@ -2,17 +2,36 @@ package seedu.addressbook.data.person;
 
 import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.DuplicateDataException;
+import seedu.addressbook.data.index.OrdinalBitmap;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagExpression;
 
 import java.util.*;
 
 /**
  * A list of persons. Does not allow null elements or duplicates.
+ * Backed by an insertion-ordered hash map, so membership checks, additions and removals take constant time
+ * while iteration and {@link #immutableListView()} keep the order in which persons were added.
+ * Every person is also given an increasing ordinal on addition, so that any group of persons in the list can be
+ * put in list order without walking the whole list, see {@link #inListOrder(Collection)}.
+ * Ordinals also key the bitmaps of tag membership used to filter the list by tags,
+ * see {@link #getPersonsMatching(TagExpression)}. Once removals leave more unused ordinals than persons, the owner
+ * of the list should renumber them with {@link #compactOrdinalsIfSparse()}.
+ *
+ * Copies are copy-on-write: a copy shares its contents with the source until either of them is modified,
+ * so taking a snapshot of the list is constant time and only the first modification afterwards pays for copying.
+ * A snapshot must be taken on the thread that modifies the source, after which the snapshot may be handed to
+ * another thread. Code that only reads the list on the modifying thread should use {@link #immutableListView()}
+ * instead, so that the next modification does not have to copy.
  *
  * @see Person#equals(Object)
  * @see Utils#elementsAreUnique(Collection)
  */
 public class UniquePersonList implements Iterable<Person> {
 
+    /** Ordinals are not compacted while fewer than this many are unused, as small gaps cost little. */
+    static final int MIN_UNUSED_ORDINALS_TO_COMPACT = 1024;
+
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
      */
@@ -28,7 +47,80 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public static class PersonNotFoundException extends Exception {}
 
-    private final List<Person> internalList = new ArrayList<>();
+    /**
+     * The persons held by one or more lists. Must not be modified while {@link #isShared} is set.
+     * The flag is volatile so that a snapshot handed to another thread sees it set.
+     */
+    private static class Contents {
+        /** Persons in insertion order, mapped to their ordinals. See {@link UniquePersonList#getOrdinal}. */
+        final Map<Person, Integer> ordinals;
+        int nextOrdinal;
+        volatile boolean isShared;
+
+        Contents() {
+            this.ordinals = new LinkedHashMap<>();
+        }
+
+        Contents(Contents source) {
+            this.ordinals = new LinkedHashMap<>(source.ordinals);
+            this.nextOrdinal = source.nextOrdinal;
+        }
+
+        Set<Person> persons() {
+            return ordinals.keySet();
+        }
+    }
+
+    /**
+     * The ordinals of the persons carrying each tag.
+     */
+    private static class TagBitmaps {
+        final Map<Tag, OrdinalBitmap> ordinalsByTag;
+        final OrdinalBitmap allOrdinals;
+
+        TagBitmaps(Contents contents) {
+            ordinalsByTag = new HashMap<>();
+            allOrdinals = new OrdinalBitmap();
+            for (Map.Entry<Person, Integer> entry : contents.ordinals.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+        }
+
+        void add(Person person, int ordinal) {
+            allOrdinals.add(ordinal);
+            for (Tag tag : person.getTags()) {
+                ordinalsByTag.computeIfAbsent(tag, t -> new OrdinalBitmap()).add(ordinal);
+            }
+        }
+
+        void remove(ReadOnlyPerson person, int ordinal) {
+            allOrdinals.remove(ordinal);
+            for (Tag tag : person.getTags()) {
+                final OrdinalBitmap ordinals = ordinalsByTag.get(tag);
+                if (ordinals == null) {
+                    continue;
+                }
+                ordinals.remove(ordinal);
+                if (ordinals.isEmpty()) {
+                    ordinalsByTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    private Contents contents = new Contents();
+
+    /*
+     * Tables derived from the contents, kept by each list rather than in the contents so that lists sharing their
+     * contents never write to them. Built on first use, then kept up to date or dropped as this list is modified.
+     */
+
+    /** Positional copy of the persons for indexed access. Null until first needed, and after every modification. */
+    private List<Person> positionalCache;
+    /** The persons by ordinal, null at the ordinals of removed persons. Null until first needed. */
+    private Person[] personsByOrdinal;
+    /** Null until the list is first filtered by tags. */
+    private TagBitmaps tagBitmaps;
 
     /**
      * Constructs empty person list.
@@ -39,11 +131,7 @@ public class UniquePersonList implements Iterable<Person> {
      * Constructs a person list with the given persons.
      */
     public UniquePersonList(Person... persons) throws DuplicatePersonException {
-        final List<Person> initialTags = Arrays.asList(persons);
-        if (!Utils.elementsAreUnique(initialTags)) {
-            throw new DuplicatePersonException();
-        }
-        internalList.addAll(initialTags);
+        this(Arrays.asList(persons));
     }
 
     /**
@@ -52,34 +140,242 @@ public class UniquePersonList implements Iterable<Person> {
      * @throws DuplicatePersonException if the {@code persons} contains duplicate persons
      */
     public UniquePersonList(Collection<Person> persons) throws DuplicatePersonException {
-        if (!Utils.elementsAreUnique(persons)) {
-            throw new DuplicatePersonException();
+        for (Person person : persons) {
+            add(person);
         }
-        internalList.addAll(persons);
     }
 
     /**
      * Constructs a shallow copy of the list.
      */
     public UniquePersonList(UniquePersonList source) {
-        internalList.addAll(source.internalList);
+        source.contents.isShared = true;
+        contents = source.contents;
     }
 
     /**
      * Unmodifiable java List view with elements cast as immutable {@link ReadOnlyPerson}s.
      * For use with other methods/libraries.
      * Any changes to the internal list/elements are immediately visible in the returned list.
+     * Indexed access is constant time, except for the first access after a change to this list.
      */
     public List<ReadOnlyPerson> immutableListView() {
-        return Collections.unmodifiableList(internalList);
+        return new AbstractList<ReadOnlyPerson>() {
+            @Override
+            public ReadOnlyPerson get(int index) {
+                return getPositionalCache().get(index);
+            }
+
+            @Override
+            public int size() {
+                return contents.ordinals.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return contents.ordinals.containsKey(o);
+            }
+
+            @Override
+            public Iterator<ReadOnlyPerson> iterator() {
+                return Collections.<ReadOnlyPerson>unmodifiableSet(contents.persons()).iterator();
+            }
+        };
     }
 
+    private List<Person> getPositionalCache() {
+        if (positionalCache == null) {
+            positionalCache = new ArrayList<>(contents.persons());
+        }
+        return positionalCache;
+    }
+
+    /**
+     * Gives this list its own copy of the contents if they are shared with other lists,
+     * and invalidates the positional cache. Must be called before every modification.
+     */
+    private void prepareForModification() {
+        if (contents.isShared) {
+            contents = new Contents(contents);
+        }
+        positionalCache = null;
+    }
 
     /**
      * Checks if the list contains an equivalent person as the given argument.
      */
     public boolean contains(ReadOnlyPerson toCheck) {
-        return internalList.contains(toCheck);
+        return contents.ordinals.containsKey(toCheck);
+    }
+
+    /**
+     * Returns the given persons sorted in the order of this list, leaving out those not in this list.
+     * Takes O(m log m) time for m given persons, regardless of the size of this list.
+     */
+    public List<ReadOnlyPerson> inListOrder(Collection<? extends ReadOnlyPerson> persons) {
+        final ReadOnlyPerson[] found = new ReadOnlyPerson[persons.size()];
+        // sort keys hold the ordinal in the high bits and the position in found in the low bits
+        final long[] sortKeys = new long[found.length];
+        int count = 0;
+        for (ReadOnlyPerson person : persons) {
+            final Integer ordinal = contents.ordinals.get(person);
+            if (ordinal != null) {
+                found[count] = person;
+                sortKeys[count] = ((long) ordinal << 32) | count;
+                count++;
+            }
+        }
+        Arrays.sort(sortKeys, 0, count);
+        final List<ReadOnlyPerson> ordered = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ordered.add(found[(int) sortKeys[i]]);
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns the first persons in list order, up to the given limit, that are in any of the given sets but not in
+     * the excluded set. Persons not in this list are left out.
+     *
+     * Either sorts the members of the sets, or walks this list from the start checking each person against the
+     * sets, whichever is expected to look at fewer persons. Walking wins when the sets are large, as it stops after
+     * finding enough persons, so a few persons can be picked from sets covering most of the list without sorting them.
+     */
+    public List<ReadOnlyPerson> firstInListOrder(Collection<? extends Set<? extends ReadOnlyPerson>> sets,
+                                                 Set<? extends ReadOnlyPerson> excluded, int limit) {
+        long memberCount = 0;
+        for (Set<? extends ReadOnlyPerson> set : sets) {
+            memberCount += set.size();
+        }
+        if (memberCount == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        // persons are spread about evenly, so the walk reaches enough of them after this many persons
+        final long walkLength = Math.min(contents.ordinals.size(),
+                (limit + excluded.size()) * (long) contents.ordinals.size() / memberCount + 1);
+
+        final List<ReadOnlyPerson> found = new ArrayList<>();
+        if (walkLength * sets.size() < memberCount) {
+            for (Person person : contents.persons()) {
+                if (found.size() == limit) {
+                    break;
+                }
+                if (!excluded.contains(person) && isInAny(person, sets)) {
+                    found.add(person);
+                }
+            }
+            return found;
+        }
+
+        final Set<ReadOnlyPerson> members = new HashSet<>();
+        for (Set<? extends ReadOnlyPerson> set : sets) {
+            members.addAll(set);
+        }
+        members.removeAll(excluded);
+        final List<ReadOnlyPerson> ordered = inListOrder(members);
+        return new ArrayList<>(ordered.subList(0, Math.min(limit, ordered.size())));
+    }
+
+    private static boolean isInAny(ReadOnlyPerson person, Collection<? extends Set<? extends ReadOnlyPerson>> sets) {
+        for (Set<? extends ReadOnlyPerson> set : sets) {
+            if (set.contains(person)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the persons in this list whose tags match the given expression, in list order.
+     * The expression is evaluated with bitwise operations on bitmaps of the ordinals carrying each tag, which are
+     * built on the first call and kept up to date afterwards, so only the matching persons are looked at.
+     */
+    public List<ReadOnlyPerson> getPersonsMatching(TagExpression expression) {
+        final TagBitmaps tagBitmaps = getTagBitmaps();
+        return getPersonsWithOrdinals(
+                expression.evaluate(tagBitmaps.ordinalsByTag::get, tagBitmaps.allOrdinals).toArray());
+    }
+
+    /**
+     * Returns true if any person in this list carries the given tag. Answered from the same bitmaps as
+     * {@link #getPersonsMatching(TagExpression)}, so only the first call looks at every person.
+     */
+    public boolean isCarriedByAny(Tag tag) {
+        return getTagBitmaps().ordinalsByTag.containsKey(tag);
+    }
+
+    private TagBitmaps getTagBitmaps() {
+        if (tagBitmaps == null) {
+            tagBitmaps = new TagBitmaps(contents);
+        }
+        return tagBitmaps;
+    }
+
+    /**
+     * Returns the ordinal of the equivalent person in this list, or -1 if there is none.
+     * Every person added to the list is given an ordinal greater than those of the persons added before it,
+     * and ordinals are not reused until the list is cleared or its ordinals compacted, so until then an ordinal
+     * kept by the caller either still refers to the same person or to none at all.
+     */
+    public int getOrdinal(ReadOnlyPerson person) {
+        final Integer ordinal = contents.ordinals.get(person);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Returns the persons in this list with the given ordinals, in the same order, skipping the ordinals of persons
+     * since removed. Ascending ordinals give the persons in list order.
+     *
+     * @see #getOrdinal(ReadOnlyPerson)
+     */
+    public List<ReadOnlyPerson> getPersonsWithOrdinals(int[] ordinals) {
+        final List<ReadOnlyPerson> persons = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            final Person person = getPersonWithOrdinal(ordinal);
+            if (person != null) {
+                persons.add(person);
+            }
+        }
+        return persons;
+    }
+
+    /**
+     * Returns the person in this list with the given ordinal, or null if that person was removed.
+     * Constant time, apart from building a table of the persons by ordinal on first use.
+     *
+     * @see #getOrdinal(ReadOnlyPerson)
+     */
+    public Person getPersonWithOrdinal(int ordinal) {
+        if (personsByOrdinal == null) {
+            personsByOrdinal = new Person[Math.max(contents.nextOrdinal, 16)];
+            for (Map.Entry<Person, Integer> entry : contents.ordinals.entrySet()) {
+                personsByOrdinal[entry.getValue()] = entry.getKey();
+            }
+        }
+        return ordinal < personsByOrdinal.length ? personsByOrdinal[ordinal] : null;
+    }
+
+    /**
+     * Renumbers the persons in this list from 0 in list order, if removals have left more unused ordinals than
+     * there are persons, so that tables indexed by ordinal stay proportional to the size of the list.
+     * Each renumbering takes time proportional to the size of the list, and follows at least as many removals.
+     *
+     * @return true if the persons were renumbered, in which case ordinals kept by the caller are no longer valid.
+     */
+    public boolean compactOrdinalsIfSparse() {
+        final int unusedOrdinals = contents.nextOrdinal - contents.ordinals.size();
+        if (unusedOrdinals < Math.max(contents.ordinals.size(), MIN_UNUSED_ORDINALS_TO_COMPACT)) {
+            return false;
+        }
+        prepareForModification();
+        int nextOrdinal = 0;
+        for (Map.Entry<Person, Integer> entry : contents.ordinals.entrySet()) {
+            entry.setValue(nextOrdinal++);
+        }
+        contents.nextOrdinal = nextOrdinal;
+        personsByOrdinal = null;
+        tagBitmaps = null;
+        return true;
     }
 
     /**
@@ -91,31 +387,88 @@ public class UniquePersonList implements Iterable<Person> {
         if (contains(toAdd)) {
             throw new DuplicatePersonException();
         }
-        internalList.add(toAdd);
+        prepareForModification();
+        addOrdinal(toAdd);
+    }
+
+    /**
+     * Checks that none of the given persons is a duplicate of an existing person in the list or of another given
+     * person, without changing the list.
+     *
+     * @throws DuplicatePersonException if a person to add is a duplicate.
+     */
+    public void checkCanAddAll(Collection<? extends ReadOnlyPerson> toAdd) throws DuplicatePersonException {
+        final Set<ReadOnlyPerson> distinct = new HashSet<>();
+        for (ReadOnlyPerson person : toAdd) {
+            if (contains(person) || !distinct.add(person)) {
+                throw new DuplicatePersonException();
+            }
+        }
+    }
+
+    /**
+     * Adds all the given persons to the list, in the given order. Adds none of them if any is a duplicate of an
+     * existing person in the list or of another given person.
+     *
+     * @throws DuplicatePersonException if a person to add is a duplicate.
+     */
+    public void addAll(Collection<Person> toAdd) throws DuplicatePersonException {
+        checkCanAddAll(toAdd);
+        prepareForModification();
+        for (Person person : toAdd) {
+            addOrdinal(person);
+        }
+    }
+
+    private void addOrdinal(Person toAdd) {
+        final int ordinal = contents.nextOrdinal++;
+        contents.ordinals.put(toAdd, ordinal);
+        if (personsByOrdinal != null) {
+            if (ordinal >= personsByOrdinal.length) {
+                personsByOrdinal = Arrays.copyOf(personsByOrdinal, Math.max(ordinal + 1, personsByOrdinal.length * 2));
+            }
+            personsByOrdinal[ordinal] = toAdd;
+        }
+        if (tagBitmaps != null) {
+            tagBitmaps.add(toAdd, ordinal);
+        }
     }
 
     /**
      * Removes the equivalent person from the list.
+     * Equivalent persons may differ in their tags, so the person removed is looked up by its ordinal.
      *
+     * @return the person removed, as held by the list.
      * @throws PersonNotFoundException if no such person could be found in the list.
      */
-    public void remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
-        final boolean personFoundAndDeleted = internalList.remove(toRemove);
-        if (!personFoundAndDeleted) {
+    public Person remove(ReadOnlyPerson toRemove) throws PersonNotFoundException {
+        if (!contains(toRemove)) {
             throw new PersonNotFoundException();
         }
+        prepareForModification();
+        final int ordinal = contents.ordinals.get(toRemove);
+        final Person removed = getPersonWithOrdinal(ordinal);
+        contents.ordinals.remove(toRemove);
+        personsByOrdinal[ordinal] = null;
+        if (tagBitmaps != null) {
+            tagBitmaps.remove(removed, ordinal);
+        }
+        return removed;
     }
 
     /**
      * Clears all persons in list.
      */
     public void clear() {
-        internalList.clear();
+        contents = new Contents();
+        positionalCache = null;
+        personsByOrdinal = null;
+        tagBitmaps = null;
     }
 
     @Override
     public Iterator<Person> iterator() {
-        return internalList.iterator();
+        return Collections.unmodifiableSet(contents.persons()).iterator();
     }
 
 }
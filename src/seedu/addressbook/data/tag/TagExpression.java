@@ -0,0 +1,167 @@
+package seedu.addressbook.data.tag;
+
+import seedu.addressbook.data.index.OrdinalBitmap;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A combination of tags with AND, OR and NOT that the tags of a person either match or not,
+ * e.g. {@code friends+!colleagues family}. Guarantees: immutable.
+ *
+ * Expressions are evaluated over sets of persons given as {@link OrdinalBitmap}s of their ordinals,
+ * so that whole sets of persons are combined at once without looking at any person.
+ */
+public abstract class TagExpression {
+
+    /** Joins operands that must all match. Binds tighter than {@link #OR_OPERATOR}. */
+    public static final String AND_OPERATOR = "+";
+    /** Separates operands of which any must match. */
+    public static final String OR_OPERATOR = " ";
+    /** Prefixed to a tag that must not be present. */
+    public static final String NOT_OPERATOR = "!";
+
+    /**
+     * Returns an expression matched by persons carrying the given tag.
+     */
+    public static TagExpression tag(Tag tag) {
+        return new HasTag(tag);
+    }
+
+    /**
+     * Returns an expression matched by persons not matching the given expression.
+     */
+    public static TagExpression not(TagExpression operand) {
+        return new Not(operand);
+    }
+
+    /**
+     * Returns an expression matched by persons matching all of the given expressions.
+     */
+    public static TagExpression allOf(List<TagExpression> operands) {
+        return operands.size() == 1 ? operands.get(0) : new AllOf(operands);
+    }
+
+    /**
+     * Returns an expression matched by persons matching any of the given expressions.
+     */
+    public static TagExpression anyOf(List<TagExpression> operands) {
+        return operands.size() == 1 ? operands.get(0) : new AnyOf(operands);
+    }
+
+    /**
+     * Returns the ordinals of the persons matching this expression.
+     * The returned bitmap may be one of those given and must not be modified.
+     *
+     * @param ordinalsOfTag gives the ordinals of the persons carrying a tag, or null if there are none
+     * @param allOrdinals the ordinals of all persons
+     */
+    public abstract OrdinalBitmap evaluate(Function<Tag, OrdinalBitmap> ordinalsOfTag, OrdinalBitmap allOrdinals);
+
+    private static class HasTag extends TagExpression {
+        private final Tag tag;
+
+        HasTag(Tag tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public OrdinalBitmap evaluate(Function<Tag, OrdinalBitmap> ordinalsOfTag, OrdinalBitmap allOrdinals) {
+            final OrdinalBitmap ordinals = ordinalsOfTag.apply(tag);
+            return ordinals == null ? new OrdinalBitmap() : ordinals;
+        }
+
+        @Override
+        public String toString() {
+            return tag.tagName;
+        }
+    }
+
+    private static class Not extends TagExpression {
+        private final TagExpression operand;
+
+        Not(TagExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public OrdinalBitmap evaluate(Function<Tag, OrdinalBitmap> ordinalsOfTag, OrdinalBitmap allOrdinals) {
+            return allOrdinals.andNot(operand.evaluate(ordinalsOfTag, allOrdinals));
+        }
+
+        @Override
+        public String toString() {
+            return NOT_OPERATOR + operand;
+        }
+    }
+
+    private static class AllOf extends TagExpression {
+        private final List<TagExpression> operands;
+
+        AllOf(List<TagExpression> operands) {
+            this.operands = new ArrayList<>(operands);
+        }
+
+        /**
+         * Intersects the operands starting from the smallest, and subtracts negated operands instead of
+         * building their complements.
+         */
+        @Override
+        public OrdinalBitmap evaluate(Function<Tag, OrdinalBitmap> ordinalsOfTag, OrdinalBitmap allOrdinals) {
+            final List<OrdinalBitmap> included = new ArrayList<>();
+            final List<OrdinalBitmap> excluded = new ArrayList<>();
+            for (TagExpression operand : operands) {
+                if (operand instanceof Not) {
+                    excluded.add(((Not) operand).operand.evaluate(ordinalsOfTag, allOrdinals));
+                } else {
+                    included.add(operand.evaluate(ordinalsOfTag, allOrdinals));
+                }
+            }
+            included.sort(Comparator.comparingInt(OrdinalBitmap::cardinality));
+
+            OrdinalBitmap result = included.isEmpty() ? allOrdinals : included.get(0);
+            for (int i = 1; i < included.size() && !result.isEmpty(); i++) {
+                result = result.and(included.get(i));
+            }
+            for (OrdinalBitmap ordinals : excluded) {
+                result = result.andNot(ordinals);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            final StringJoiner joiner = new StringJoiner(AND_OPERATOR);
+            for (TagExpression operand : operands) {
+                joiner.add(operand.toString());
+            }
+            return joiner.toString();
+        }
+    }
+
+    private static class AnyOf extends TagExpression {
+        private final List<TagExpression> operands;
+
+        AnyOf(List<TagExpression> operands) {
+            this.operands = new ArrayList<>(operands);
+        }
+
+        @Override
+        public OrdinalBitmap evaluate(Function<Tag, OrdinalBitmap> ordinalsOfTag, OrdinalBitmap allOrdinals) {
+            OrdinalBitmap result = new OrdinalBitmap();
+            for (TagExpression operand : operands) {
+                result = result.or(operand.evaluate(ordinalsOfTag, allOrdinals));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            final StringJoiner joiner = new StringJoiner(OR_OPERATOR);
+            for (TagExpression operand : operands) {
+                joiner.add(operand.toString());
+            }
+            return joiner.toString();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package seedu.addressbook.data.tag;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds one canonical {@link Tag} instance per tag name, shared by the whole program.
+ *
+ * Creating tags through the pool makes equal tags the same object, so the address book does not need to look up
+ * the tags of every new person in its master tag list, and each tag name is held in memory only once.
+ * Safe to use from multiple threads.
+ *
+ * The pool only refers to its tags weakly, so it does not keep alive tags that are no longer used anywhere, such as
+ * those of deleted persons or of imports that failed. A tag name seen again after its tag was collected gets a new
+ * canonical tag, which is safe as no other instance of the tag remains.
+ */
+public class TagPool {
+
+    /**
+     * The canonical tags by name, referred to weakly. The entry of a collected tag is removed once its reference
+     * is found in {@link #collectedTags}, unless the entry has been given to a new canonical tag by then.
+     */
+    private static final Map<String, TagReference> canonicalTags = new HashMap<>();
+    private static final ReferenceQueue<Tag> collectedTags = new ReferenceQueue<>();
+
+    /**
+     * A weak reference to a canonical tag, which keeps the tag's name to find its entry once the tag is collected.
+     */
+    private static class TagReference extends WeakReference<Tag> {
+        final String tagName;
+
+        TagReference(Tag tag) {
+            super(tag, collectedTags);
+            this.tagName = tag.tagName;
+        }
+    }
+
+    private TagPool() {}
+
+    /**
+     * Returns the canonical tag with the given name. Validates the name only if it has no canonical tag yet.
+     *
+     * @throws IllegalValueException if the given tag name string is invalid.
+     */
+    public static Tag intern(String tagName) throws IllegalValueException {
+        final Tag canonical = get(tagName);
+        return canonical != null ? canonical : intern(new Tag(tagName));
+    }
+
+    /**
+     * Returns the canonical tag equal to the given tag, which becomes the canonical tag if there is none yet.
+     */
+    public static synchronized Tag intern(Tag tag) {
+        final Tag canonical = get(tag.tagName);
+        if (canonical != null) {
+            return canonical;
+        }
+        canonicalTags.put(tag.tagName, new TagReference(tag));
+        return tag;
+    }
+
+    private static synchronized Tag get(String tagName) {
+        removeCollectedTags();
+        final TagReference reference = canonicalTags.get(tagName);
+        return reference == null ? null : reference.get();
+    }
+
+    private static void removeCollectedTags() {
+        for (Reference<? extends Tag> collected = collectedTags.poll(); collected != null;
+                collected = collectedTags.poll()) {
+            canonicalTags.remove(((TagReference) collected).tagName, collected);
+        }
+    }
+}
@@ -7,12 +7,23 @@ import java.util.*;
 
 /**
  * A list of tags. Does not allow nulls or duplicates.
+ * Membership checks, additions and removals take constant time: lists of up to {@link #SMALL_LIST_MAX_SIZE} tags,
+ * such as those of individual persons, are backed by a compact array, and longer lists by an insertion-ordered
+ * hash set. Iteration follows the order in which tags were added.
+ *
+ * Copies of long lists are copy-on-write: a copy shares its contents with the source until either of them is
+ * modified, so copying a long tag list is constant time. Such copies must be taken on the thread that modifies the
+ * source. Copies of short lists, such as those handed out by {@link seedu.addressbook.data.person.Person#getTags()}
+ * on any thread, are made right away, so they never write to the source.
  *
  * @see Tag#equals(Object)
  * @see Utils#elementsAreUnique(Collection)
  */
 public class UniqueTagList implements Iterable<Tag> {
 
+    /** Largest number of tags held in an array before switching to a hash set. */
+    public static final int SMALL_LIST_MAX_SIZE = 8;
+
     /**
      * Signals that an operation would have violated the 'no duplicates' property of the list.
      */
@@ -28,7 +39,42 @@ public class UniqueTagList implements Iterable<Tag> {
      */
     public static class TagNotFoundException extends Exception {}
 
-    private final List<Tag> internalList = new ArrayList<>();
+    /**
+     * Signals that a Tag could not be removed from the tags of an address book because persons in it still
+     * carry the Tag.
+     */
+    public static class TagInUseException extends Exception {}
+
+    /**
+     * The tags held by one or more lists. Must not be modified while {@link #isShared} is set.
+     * Contents backed by an array are never shared. The flag is volatile so that a copy handed to another thread
+     * sees it set.
+     */
+    private static class Contents {
+        /** An {@link ArrayList} while there are at most {@link #SMALL_LIST_MAX_SIZE} tags, else a hash set. */
+        Collection<Tag> tags;
+        volatile boolean isShared;
+
+        Contents() {
+            this.tags = new ArrayList<>();
+        }
+
+        Contents(Collection<Tag> tags) {
+            this.tags = tags.size() <= SMALL_LIST_MAX_SIZE ? new ArrayList<>(tags) : new LinkedHashSet<>(tags);
+        }
+
+        /**
+         * Adds a tag that is not in the contents yet.
+         */
+        void add(Tag tag) {
+            if (tags.size() == SMALL_LIST_MAX_SIZE && tags instanceof ArrayList) {
+                tags = new LinkedHashSet<>(tags);
+            }
+            tags.add(tag);
+        }
+    }
+
+    private Contents contents = new Contents();
 
     /**
      * Constructs an empty TagList.
@@ -39,11 +85,7 @@ public class UniqueTagList implements Iterable<Tag> {
      * Constructs a tag list with the given tags.
      */
     public UniqueTagList(Tag... tags) throws DuplicateTagException {
-        final List<Tag> initialTags = Arrays.asList(tags);
-        if (!Utils.elementsAreUnique(initialTags)) {
-            throw new DuplicateTagException();
-        }
-        internalList.addAll(initialTags);
+        this(Arrays.asList(tags));
     }
 
     /**
@@ -53,35 +95,64 @@ public class UniqueTagList implements Iterable<Tag> {
         if (!Utils.elementsAreUnique(tags)) {
             throw new DuplicateTagException();
         }
-        internalList.addAll(tags);
+        contents = new Contents(tags);
     }
 
     /**
      * Constructs a tag list with the given tags.
      */
     public UniqueTagList(Set<Tag> tags) {
-        internalList.addAll(tags);
+        contents = new Contents(tags);
     }
 
     /**
      * Constructs a shallow copy of the given tag list.
      */
     public UniqueTagList(UniqueTagList source) {
-        internalList.addAll(source.internalList);
+        contents = share(source.contents);
+    }
+
+    /**
+     * Returns contents equal to the given ones for another list to hold: a copy if they are backed by an array,
+     * which is as cheap as sharing them, or else the same contents marked as shared.
+     */
+    private static Contents share(Contents contents) {
+        if (contents.tags instanceof ArrayList) {
+            return new Contents(contents.tags);
+        }
+        contents.isShared = true;
+        return contents;
+    }
+
+    /**
+     * Gives this list its own copy of the contents if they are shared with other lists.
+     * Must be called before every modification.
+     */
+    private void prepareForModification() {
+        if (contents.isShared) {
+            contents = new Contents(contents.tags);
+        }
     }
 
     /**
      * All tags in this list as a Set. This set is mutable and change-insulated against the internal list.
      */
     public Set<Tag> toSet() {
-        return new HashSet<>(internalList);
+        return new HashSet<>(contents.tags);
+    }
+
+    /**
+     * Returns the number of tags in this list.
+     */
+    public int size() {
+        return contents.tags.size();
     }
 
     /**
      * Checks if the list contains an equivalent Tag as the given argument.
      */
     public boolean contains(Tag toCheck) {
-        return internalList.contains(toCheck);
+        return contents.tags.contains(toCheck);
     }
 
     /**
@@ -93,7 +164,8 @@ public class UniqueTagList implements Iterable<Tag> {
         if (contains(toAdd)) {
             throw new DuplicateTagException();
         }
-        internalList.add(toAdd);
+        prepareForModification();
+        contents.add(toAdd);
     }
 
     /**
@@ -102,20 +174,23 @@ public class UniqueTagList implements Iterable<Tag> {
      * @throws DuplicateTagException if the argument tag list contains tag(s) that already exist in this list.
      */
     public void addAll(UniqueTagList tags) throws DuplicateTagException {
-        if (!Collections.disjoint(this.internalList, tags.internalList)) {
-            throw new DuplicateTagException();
+        for (Tag tag : tags) {
+            if (contains(tag)) {
+                throw new DuplicateTagException();
+            }
         }
-        this.internalList.addAll(tags.internalList);
+        mergeFrom(tags);
     }
 
     /**
      * Adds every tag from the argument list that does not yet exist in this list.
+     * Takes time proportional to the size of the argument list only.
      */
     public void mergeFrom(UniqueTagList tags) {
-        final Set<Tag> alreadyInside = this.toSet();
         for (Tag tag : tags) {
-            if (!alreadyInside.contains(tag)) {
-                internalList.add(tag);
+            if (!contains(tag)) {
+                prepareForModification();
+                contents.add(tag);
             }
         }
     }
@@ -126,30 +201,53 @@ public class UniqueTagList implements Iterable<Tag> {
      * @throws TagNotFoundException if no such Tag could be found in the list.
      */
     public void remove(Tag toRemove) throws TagNotFoundException {
-        final boolean TagFoundAndDeleted = internalList.remove(toRemove);
-        if (!TagFoundAndDeleted) {
+        if (!contains(toRemove)) {
             throw new TagNotFoundException();
         }
+        prepareForModification();
+        contents.tags.remove(toRemove);
     }
 
     /**
      * Clears all tags in list.
      */
     public void clear() {
-        internalList.clear();
+        contents = new Contents();
     }
 
     /**
      * Replaces the Tags in this list with those in the argument tag list.
      */
     public void setTags(UniqueTagList replacement) {
-        this.internalList.clear();
-        this.internalList.addAll(replacement.internalList);
+        this.contents = share(replacement.contents);
+    }
+
+    /**
+     * Unmodifiable view of the tags in this list, in order. Changes to this list are immediately visible in it.
+     * Unlike a copy of the list, taking the view never makes the next change to this list copy the tags.
+     */
+    public Collection<Tag> immutableCollectionView() {
+        return new AbstractCollection<Tag>() {
+            @Override
+            public Iterator<Tag> iterator() {
+                return UniqueTagList.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return contents.tags.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return contents.tags.contains(o);
+            }
+        };
     }
 
     @Override
     public Iterator<Tag> iterator() {
-        return internalList.iterator();
+        return Collections.unmodifiableCollection(contents.tags).iterator();
     }
 
 }
@@ -1,7 +1,12 @@
 package seedu.addressbook.parser;
 
 import seedu.addressbook.commands.*;
+import seedu.addressbook.common.Utils;
 import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagExpression;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -28,6 +33,10 @@ public class Parser {
                     + "(?<tagArguments>(?: t/[^/]+)*)"); // variable number of tags
 
 
+    public static final Pattern EXPORT_ARGS_FORMAT =
+            Pattern.compile("(?:(?<redact>" + ExportCommand.REDACT_ARGUMENT + ")\\s+)?"
+                    + "(?!" + ExportCommand.REDACT_ARGUMENT + "$)(?<filePath>.+)"); // 'redact' needs a file path
+
     /**
      * Signals that the user input could not be parsed.
      */
@@ -72,8 +81,29 @@ public class Parser {
             case FindCommand.COMMAND_WORD:
                 return prepareFind(arguments);
 
+            case FuzzyFindCommand.COMMAND_WORD:
+                return prepareFuzzyFind(arguments);
+
+            case FindPhoneCommand.COMMAND_WORD:
+                return prepareFindPhone(arguments);
+
+            case FindPhoneEndCommand.COMMAND_WORD:
+                return prepareFindPhoneEnd(arguments);
+
+            case FindEmailCommand.COMMAND_WORD:
+                return prepareFindEmail(arguments);
+
+            case FindAddressCommand.COMMAND_WORD:
+                return prepareFindAddress(arguments);
+
+            case FindTagCommand.COMMAND_WORD:
+                return prepareFindTag(arguments);
+
+            case SearchCommand.COMMAND_WORD:
+                return prepareSearch(arguments);
+
             case ListCommand.COMMAND_WORD:
-                return new ListCommand();
+                return prepareList(arguments);
 
             case ViewCommand.COMMAND_WORD:
                 return prepareView(arguments);
@@ -81,6 +111,24 @@ public class Parser {
             case ViewAllCommand.COMMAND_WORD:
                 return prepareViewAll(arguments);
 
+            case BeginCommand.COMMAND_WORD:
+                return new BeginCommand();
+
+            case CommitCommand.COMMAND_WORD:
+                return new CommitCommand();
+
+            case RollbackCommand.COMMAND_WORD:
+                return new RollbackCommand();
+
+            case ImportCommand.COMMAND_WORD:
+                return prepareImport(arguments);
+
+            case ExportCommand.COMMAND_WORD:
+                return prepareExport(arguments);
+
+            case StatsCommand.COMMAND_WORD:
+                return new StatsCommand();
+
             case ExitCommand.COMMAND_WORD:
                 return new ExitCommand();
 
@@ -235,5 +283,195 @@ public class Parser {
         return new FindCommand(keywordSet);
     }
 
+    /**
+     * Parses arguments in the context of the fuzzy find person command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFuzzyFind(String args) {
+        final Matcher matcher = KEYWORDS_ARGS_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FuzzyFindCommand.MESSAGE_USAGE));
+        }
+
+        // keywords delimited by whitespace
+        final String[] keywords = matcher.group("keywords").split("\\s+");
+        final Set<String> keywordSet = new HashSet<>(Arrays.asList(keywords));
+        return new FuzzyFindCommand(keywordSet);
+    }
+
+    /**
+     * Parses arguments in the context of the find person by phone command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindPhone(String args) {
+        final String phone = Phone.normalise(args);
+        if (!Phone.isValidPhone(phone)) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindPhoneCommand.MESSAGE_USAGE));
+        }
+        return new FindPhoneCommand(phone);
+    }
+
+    /**
+     * Parses arguments in the context of the find person by phone ending command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindPhoneEnd(String args) {
+        final String digits = Phone.normalise(args);
+        if (!Phone.isValidPhone(digits)) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindPhoneEndCommand.MESSAGE_USAGE));
+        }
+        return new FindPhoneEndCommand(digits);
+    }
+
+    /**
+     * Parses arguments in the context of the find person by email command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindEmail(String args) {
+        final String email = Email.normalise(args);
+        if (email.isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindEmailCommand.MESSAGE_USAGE));
+        }
+        return new FindEmailCommand(email);
+    }
+
+    /**
+     * Parses arguments in the context of the find person by address command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindAddress(String args) {
+        if (Utils.getSearchWords(args).isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindAddressCommand.MESSAGE_USAGE));
+        }
+        return new FindAddressCommand(args.trim());
+    }
+
+    /**
+     * Parses arguments in the context of the ranked search command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareSearch(String args) {
+        if (Utils.getSearchWords(args).isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    SearchCommand.MESSAGE_USAGE));
+        }
+        return new SearchCommand(args.trim());
+    }
+
+    /**
+     * Parses arguments in the context of the find tag command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareFindTag(String args) {
+        final Matcher matcher = KEYWORDS_ARGS_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT,
+                    FindTagCommand.MESSAGE_USAGE));
+        }
+
+        // groups of tags delimited by whitespace, tags within a group joined by the 'and' operator
+        try {
+            final List<Set<Tag>> tagGroups = new ArrayList<>();
+            for (String term : matcher.group("keywords").split("\\s+")) {
+                final Set<Tag> tagGroup = new HashSet<>();
+                for (String tagName : term.split(Pattern.quote(FindTagCommand.TAG_AND_OPERATOR), -1)) {
+                    tagGroup.add(new Tag(tagName));
+                }
+                tagGroups.add(tagGroup);
+            }
+            return new FindTagCommand(tagGroups);
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(ive.getMessage());
+        }
+    }
+
+    /**
+     * Parses arguments in the context of the list command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareList(String args) {
+        final String expression = args.trim();
+        if (expression.isEmpty()) {
+            return new ListCommand();
+        }
+        try {
+            return new ListCommand(parseTagExpression(expression));
+        } catch (IllegalValueException ive) {
+            return new IncorrectCommand(ive.getMessage());
+        }
+    }
+
+    /**
+     * Parses the given non-empty string as a tag expression: terms delimited by whitespace, any of which must match,
+     * each made of tags joined by the 'and' operator and optionally prefixed by the 'not' operator.
+     *
+     * @throws IllegalValueException if a tag name in the expression is invalid.
+     */
+    private static TagExpression parseTagExpression(String expression) throws IllegalValueException {
+        final List<TagExpression> terms = new ArrayList<>();
+        for (String term : expression.split("\\s+")) {
+            final List<TagExpression> factors = new ArrayList<>();
+            for (String factor : term.split(Pattern.quote(TagExpression.AND_OPERATOR), -1)) {
+                if (factor.startsWith(TagExpression.NOT_OPERATOR)) {
+                    final Tag tag = new Tag(factor.substring(TagExpression.NOT_OPERATOR.length()));
+                    factors.add(TagExpression.not(TagExpression.tag(tag)));
+                } else {
+                    factors.add(TagExpression.tag(new Tag(factor)));
+                }
+            }
+            terms.add(TagExpression.allOf(factors));
+        }
+        return TagExpression.anyOf(terms);
+    }
+
+    /**
+     * Parses arguments in the context of the import command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareImport(String args) {
+        final String filePath = args.trim();
+        if (filePath.isEmpty()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportCommand.MESSAGE_USAGE));
+        }
+        return new ImportCommand(filePath);
+    }
+
+    /**
+     * Parses arguments in the context of the export command.
+     *
+     * @param args full command args string
+     * @return the prepared command
+     */
+    private Command prepareExport(String args) {
+        final Matcher matcher = EXPORT_ARGS_FORMAT.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new IncorrectCommand(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE));
+        }
+        return new ExportCommand(matcher.group("filePath"), matcher.group("redact") != null);
+    }
+
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package seedu.addressbook.storage;
+
+/**
+ * Layout of the binary storage file format, shared by {@link BinaryAddressBookReader} and
+ * {@link BinaryAddressBookWriter}.
+ *
+ * A file holds, in order:
+ *  - the {@link #MAGIC} bytes and the {@link #VERSION} byte
+ *  - the tag dictionary: the number of tags, then every tag name
+ *  - the number of persons, then for every person:
+ *    name, phone, email and address, one byte of {@code PRIVATE_*} bits,
+ *    the number of tags and then the position of each tag in the dictionary
+ *
+ * Counts and positions are unsigned variable length integers (7 bits per byte, least significant group first,
+ * high bit set on all bytes but the last). Strings are their UTF-8 byte length followed by the UTF-8 bytes.
+ */
+class BinaryAddressBookFormat {
+
+    static final byte[] MAGIC = { 'A', 'B', 'K', 'B' };
+    static final byte VERSION = 1;
+
+    static final int PRIVATE_PHONE = 1;
+    static final int PRIVATE_EMAIL = 1 << 1;
+    static final int PRIVATE_ADDRESS = 1 << 2;
+
+    private BinaryAddressBookFormat() {}
+}
@@ -0,0 +1,177 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagPool;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static seedu.addressbook.storage.BinaryAddressBookFormat.*;
+
+/**
+ * Decodes the binary storage file format, see {@link BinaryAddressBookFormat}, from a buffer holding a whole file.
+ * Used both to load a file into an address book, with each person added as soon as it has been read, and by
+ * {@link MappedAddressBookFile} to decode persons from a mapped file as they are accessed.
+ *
+ * Every count and length read is checked against the number of bytes left in the buffer before anything is
+ * allocated for it, since each counted item takes at least one byte. A corrupt file therefore fails to load
+ * instead of exhausting memory.
+ */
+class BinaryAddressBookReader {
+
+    private static final String MESSAGE_FORMAT_ERROR = "Error parsing file data format";
+
+    private final ByteBuffer in;
+    private byte[] stringBuffer = new byte[64];
+
+    /**
+     * @param in the file contents, positioned where reading should start
+     */
+    BinaryAddressBookReader(ByteBuffer in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the address book from the given file contents.
+     *
+     * @throws StorageOperationException if the contents are not in the binary storage file format.
+     * @throws IllegalValueException if there were any data constraints violated in the data read.
+     */
+    static AddressBook read(ByteBuffer source) throws StorageOperationException, IllegalValueException {
+        final BinaryAddressBookReader reader = new BinaryAddressBookReader(source);
+        try {
+            final AddressBook addressBook = new AddressBook();
+            final Tag[] tagDictionary = reader.readHeader();
+            for (Tag tag : tagDictionary) {
+                addressBook.addTag(tag);
+            }
+            final int personCount = reader.readCount();
+            for (int i = 0; i < personCount; i++) {
+                addressBook.addPerson(reader.readPerson(tagDictionary));
+            }
+            return addressBook;
+        } catch (BufferUnderflowException bue) {
+            throw new StorageOperationException(MESSAGE_FORMAT_ERROR);
+        }
+    }
+
+    int position() {
+        return in.position();
+    }
+
+    void position(int position) {
+        in.position(position);
+    }
+
+    /**
+     * Checks the magic bytes and version at the start of the file, and reads the tag dictionary that follows.
+     *
+     * @throws BufferUnderflowException if the file ends prematurely.
+     */
+    Tag[] readHeader() throws StorageOperationException, IllegalValueException {
+        final byte[] magic = new byte[MAGIC.length];
+        in.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || in.get() != VERSION) {
+            throw new StorageOperationException(MESSAGE_FORMAT_ERROR);
+        }
+        final Tag[] tagDictionary = new Tag[readCount()];
+        for (int i = 0; i < tagDictionary.length; i++) {
+            tagDictionary[i] = TagPool.intern(readString());
+        }
+        return tagDictionary;
+    }
+
+    /**
+     * @throws BufferUnderflowException if the file ends prematurely.
+     */
+    Person readPerson(Tag[] tagDictionary) throws StorageOperationException, IllegalValueException {
+        final String name = readString();
+        final String phone = readString();
+        final String email = readString();
+        final String address = readString();
+        final int privacy = in.get() & 0xFF;
+
+        final Tag[] tags = new Tag[readCount()];
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = tagDictionary[readTagPosition(tagDictionary.length)];
+        }
+        return new Person(
+                new Name(name),
+                new Phone(phone, (privacy & PRIVATE_PHONE) != 0),
+                new Email(email, (privacy & PRIVATE_EMAIL) != 0),
+                new Address(address, (privacy & PRIVATE_ADDRESS) != 0),
+                new UniqueTagList(tags));
+    }
+
+    /**
+     * Moves past the person record at the current position, checking its structure without decoding it.
+     *
+     * @throws BufferUnderflowException if the file ends prematurely.
+     */
+    void skipPerson(int tagDictionarySize) throws StorageOperationException {
+        for (int i = 0; i < 4; i++) { // name, phone, email, address
+            final int length = readCount();
+            in.position(in.position() + length);
+        }
+        in.get(); // privacy bits
+        final int tagCount = readCount();
+        for (int i = 0; i < tagCount; i++) {
+            readTagPosition(tagDictionarySize);
+        }
+    }
+
+    /**
+     * @throws BufferUnderflowException if the file ends prematurely.
+     */
+    String readString() throws StorageOperationException {
+        final int length = readCount();
+        if (length > stringBuffer.length) {
+            stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+        }
+        in.get(stringBuffer, 0, length);
+        return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count of items or bytes that follow, which cannot exceed the number of bytes left.
+     *
+     * @throws BufferUnderflowException if the file ends prematurely.
+     */
+    int readCount() throws StorageOperationException {
+        final int count = readVarInt();
+        if (count > in.remaining()) {
+            throw new StorageOperationException(MESSAGE_FORMAT_ERROR);
+        }
+        return count;
+    }
+
+    private int readTagPosition(int tagDictionarySize) throws StorageOperationException {
+        final int tagPosition = readVarInt();
+        if (tagPosition >= tagDictionarySize) {
+            throw new StorageOperationException(MESSAGE_FORMAT_ERROR);
+        }
+        return tagPosition;
+    }
+
+    private int readVarInt() throws StorageOperationException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new StorageOperationException(MESSAGE_FORMAT_ERROR);
+    }
+}
@@ -0,0 +1,87 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static seedu.addressbook.storage.BinaryAddressBookFormat.*;
+
+/**
+ * Writes an address book in the binary storage file format, see {@link BinaryAddressBookFormat}.
+ */
+class BinaryAddressBookWriter {
+
+    private final OutputStream out;
+
+    private BinaryAddressBookWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the given address book to the destination, which should be buffered.
+     *
+     * @throws IOException if the destination could not be written to.
+     */
+    static void write(AddressBook addressBook, OutputStream destination) throws IOException {
+        new BinaryAddressBookWriter(destination).writeAddressBook(addressBook);
+        destination.flush();
+    }
+
+    private void writeAddressBook(AddressBook addressBook) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+
+        final Collection<Tag> allTags = addressBook.getTagsView();
+        final Map<Tag, Integer> tagPositions = new HashMap<>();
+        writeVarInt(allTags.size());
+        for (Tag tag : allTags) {
+            tagPositions.put(tag, tagPositions.size());
+            writeString(tag.tagName);
+        }
+
+        final List<ReadOnlyPerson> persons = addressBook.getPersonsView();
+        writeVarInt(persons.size());
+        for (ReadOnlyPerson person : persons) {
+            writePerson(person, tagPositions);
+        }
+    }
+
+    private void writePerson(ReadOnlyPerson person, Map<Tag, Integer> tagPositions) throws IOException {
+        writeString(person.getName().fullName);
+        writeString(person.getPhone().value);
+        writeString(person.getEmail().value);
+        writeString(person.getAddress().value);
+        out.write((person.getPhone().isPrivate() ? PRIVATE_PHONE : 0)
+                | (person.getEmail().isPrivate() ? PRIVATE_EMAIL : 0)
+                | (person.getAddress().isPrivate() ? PRIVATE_ADDRESS : 0));
+
+        final UniqueTagList tags = person.getTags();
+        writeVarInt(tags.size());
+        for (Tag tag : tags) {
+            writeVarInt(tagPositions.get(tag));
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,45 @@
+package seedu.addressbook.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Layout of contact files in comma separated values (CSV) or tab separated values (TSV) format,
+ * used for importing and exporting persons.
+ *
+ * The first record is a header naming the columns, in any order. Every following record holds one person.
+ * Fields containing the delimiter, a quote or a line break are enclosed in double quotes, with quotes in them
+ * doubled, as described in RFC 4180.
+ */
+public class DelimitedTextFormat {
+
+    /** File name extension of tab separated files. Files with any other extension are taken to be comma separated. */
+    public static final String TSV_FILE_EXTENSION = ".tsv";
+
+    public static final char CSV_DELIMITER = ',';
+    public static final char TSV_DELIMITER = '\t';
+    public static final char QUOTE = '"';
+
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_PHONE = "phone";
+    public static final String COLUMN_EMAIL = "email";
+    public static final String COLUMN_ADDRESS = "address";
+    /** Optional column holding the names of the person's tags, separated by spaces. */
+    public static final String COLUMN_TAGS = "tags";
+    /**
+     * Optional column naming the person's private contact details, separated by spaces.
+     * Uses the names of the corresponding columns, e.g. "phone email".
+     */
+    public static final String COLUMN_PRIVATE = "private";
+
+    /** Separates the values within the tags and private columns. */
+    public static final String VALUE_SEPARATOR = " ";
+
+    private DelimitedTextFormat() {}
+
+    /**
+     * Returns the field delimiter used in the file at the given path, judging by its file name extension.
+     */
+    public static char delimiterFor(Path path) {
+        return path.toString().endsWith(TSV_FILE_EXTENSION) ? TSV_DELIMITER : CSV_DELIMITER;
+    }
+}
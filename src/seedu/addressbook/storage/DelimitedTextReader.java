@@ -0,0 +1,124 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static seedu.addressbook.storage.DelimitedTextFormat.QUOTE;
+
+/**
+ * Reads records of delimiter separated fields, see {@link DelimitedTextFormat}.
+ * Accepts both "\n" and "\r\n" line endings, skips blank lines, and ignores a byte order mark at the start.
+ */
+public class DelimitedTextReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader in;
+    private final char delimiter;
+
+    /** The character read ahead of the current position, or -2 if none has been read ahead. */
+    private int lookahead = -2;
+    private int lineNumber = 1;
+    private int recordLineNumber;
+    private boolean isAtStart = true;
+
+    /**
+     * @param in the source of the records, which should be buffered
+     * @param delimiter the character separating fields within a record
+     */
+    public DelimitedTextReader(Reader in, char delimiter) {
+        this.in = in;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Returns the fields of the next record, or null if there are no more records.
+     *
+     * @throws IOException if the source could not be read.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (isAtStart && c == BYTE_ORDER_MARK) {
+            c = read();
+        }
+        isAtStart = false;
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        while (true) {
+            if (isQuoted) {
+                if (c == -1) {
+                    break; // unterminated quote: take the rest of the input as the field
+                } else if (c == QUOTE) {
+                    final int next = read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        isQuoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE && field.length() == 0) {
+                isQuoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                final int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the line of the source on which the record last returned by {@link #readRecord()} starts,
+     * counting from 1.
+     */
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int read() throws IOException {
+        final int c;
+        if (lookahead != -2) {
+            c = lookahead;
+            lookahead = -2;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            lineNumber--;
+        }
+        lookahead = c;
+    }
+}
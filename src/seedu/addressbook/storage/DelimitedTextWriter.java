@@ -0,0 +1,67 @@
+package seedu.addressbook.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static seedu.addressbook.storage.DelimitedTextFormat.QUOTE;
+
+/**
+ * Writes records of delimiter separated fields, see {@link DelimitedTextFormat}.
+ * Fields are quoted only if they need to be. Records end with "\n".
+ */
+public class DelimitedTextWriter {
+
+    private final Writer out;
+    private final char delimiter;
+
+    /**
+     * @param out the destination of the records, which should be buffered
+     * @param delimiter the character separating fields within a record
+     */
+    public DelimitedTextWriter(Writer out, char delimiter) {
+        this.out = out;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Writes a record with the given fields.
+     *
+     * @throws IOException if the destination could not be written to.
+     */
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.write(delimiter);
+            }
+            writeField(fields.get(i));
+        }
+        out.write('\n');
+    }
+
+    private void writeField(String field) throws IOException {
+        if (!needsQuotes(field)) {
+            out.write(field);
+            return;
+        }
+        out.write(QUOTE);
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == QUOTE) {
+                out.write(QUOTE);
+            }
+            out.write(c);
+        }
+        out.write(QUOTE);
+    }
+
+    private boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            final char c = field.charAt(i);
+            if (c == delimiter || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
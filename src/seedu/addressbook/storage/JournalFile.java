@@ -0,0 +1,496 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.AddressBookChangeListener;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.person.UniquePersonList.DuplicatePersonException;
+import seedu.addressbook.data.person.UniquePersonList.PersonNotFoundException;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagPool;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.data.tag.UniqueTagList.DuplicateTagException;
+import seedu.addressbook.data.tag.UniqueTagList.TagInUseException;
+import seedu.addressbook.data.tag.UniqueTagList.TagNotFoundException;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An append-only journal of the changes made to an address book since its storage file was last written.
+ *
+ * Changes are recorded as they happen and appended to the journal file by {@link #commit()}, which takes time
+ * proportional to the size of the changes instead of the size of the address book. Once
+ * {@link #COMPACTION_THRESHOLD} records have accumulated, the journal is compacted: it is set aside and a snapshot
+ * of the address book is written to the storage file by a background thread, after which the set aside journal is
+ * deleted. {@link #load()} replays whatever journal files are present on top of the storage file.
+ *
+ * Replaying is idempotent, so a crash during compaction loses no data.
+ */
+public class JournalFile implements AddressBookChangeListener {
+
+    /** Appended to the storage file path to get the journal file path. */
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+
+    /** Appended to the journal file path while the journal is being compacted. */
+    public static final String COMPACTING_FILE_SUFFIX = ".compacting";
+
+    /** Number of records in the journal file after which it is compacted into the storage file. */
+    public static final int COMPACTION_THRESHOLD = 1000;
+
+    /**
+     * Signals that the changes were committed to the journal file, but that compacting the journal failed.
+     * The journal is compacted again the next time it grows past {@link #COMPACTION_THRESHOLD} records.
+     */
+    public static class CompactionFailedException extends StorageOperationException {
+        public CompactionFailedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String RECORD_ADD_PERSON = "add";
+    private static final String RECORD_DELETE_PERSON = "delete";
+    private static final String RECORD_ADD_TAG = "addtag";
+    private static final String RECORD_DELETE_TAG = "deletetag";
+    private static final String RECORD_CLEAR = "clear";
+
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char ESCAPE = '\\';
+    private static final String TAG_SEPARATOR = " ";
+
+    private final StorageFile storage;
+    private final Path journalPath;
+    private final Path compactingPath;
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AddressBook addressBook;
+    private Writer journalWriter;
+    private Future<?> compaction;
+
+    /** Records of changes that have not been written to the journal file yet. */
+    private final StringBuilder pendingRecords = new StringBuilder();
+
+    /** Number of records in the journal file, including pending ones. */
+    private int recordCount;
+
+    /** Length of {@link #pendingRecords} when the savepoint was set, or -1 if there is none. */
+    private int savepointLength = -1;
+    /** {@link #recordCount} when the savepoint was set. */
+    private int savepointRecordCount;
+
+    /**
+     * @param storage the storage file this journal records changes against
+     */
+    public JournalFile(StorageFile storage) {
+        this.storage = storage;
+        this.journalPath = Paths.get(storage.getPath() + JOURNAL_FILE_SUFFIX);
+        this.compactingPath = Paths.get(journalPath + COMPACTING_FILE_SUFFIX);
+    }
+
+    /**
+     * Loads the address book from the storage file and replays the journal on top of it.
+     * The journal records every subsequent change to the returned address book.
+     *
+     * @throws StorageOperationException if there were errors reading and/or converting data from the files.
+     */
+    public AddressBook load() throws StorageOperationException {
+        addressBook = storage.load();
+        replay(compactingPath);
+        replay(journalPath);
+        try {
+            if (Files.exists(compactingPath)) {
+                // an earlier compaction did not finish: fold both journal files into the storage file now
+                storage.save(addressBook);
+                Files.delete(compactingPath);
+                Files.deleteIfExists(journalPath);
+            }
+            if (Files.exists(journalPath)) {
+                truncateTornRecord(journalPath);
+            }
+            recordCount = Files.exists(journalPath) ? countLines(journalPath) : 0;
+            journalWriter = openForAppend(journalPath);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error opening journal file: " + journalPath);
+        }
+        addressBook.addChangeListener(this);
+        return addressBook;
+    }
+
+    /**
+     * Appends the changes recorded since the last commit to the journal file.
+     * Does not touch the disk if there were no changes.
+     *
+     * @throws CompactionFailedException if the changes were committed, but compacting the journal failed.
+     * @throws StorageOperationException if there were errors writing the journal, so nothing was committed.
+     */
+    public void commit() throws StorageOperationException {
+        if (pendingRecords.length() == 0) {
+            return;
+        }
+        try {
+            journalWriter.write(pendingRecords.toString());
+            journalWriter.flush();
+            pendingRecords.setLength(0);
+            savepointLength = -1; // the changes since the savepoint are written and can no longer be discarded
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error writing to journal file: " + journalPath);
+        }
+        if (recordCount >= COMPACTION_THRESHOLD && !isCompacting()) {
+            try {
+                startCompaction();
+            } catch (StorageOperationException soe) {
+                throw new CompactionFailedException(soe.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Marks the changes recorded so far, so that those recorded after can be discarded with
+     * {@link #rollbackToSavepoint()} as long as they have not been committed.
+     */
+    public void setSavepoint() {
+        savepointLength = pendingRecords.length();
+        savepointRecordCount = recordCount;
+    }
+
+    /**
+     * Discards the changes recorded since the savepoint was set, without writing anything, and clears the
+     * savepoint. Used when the address book is restored to its state at the savepoint.
+     *
+     * @throws StorageOperationException if there is no savepoint, as none was set or the changes recorded since
+     *         were committed, so the journal cannot follow the address book back to its state at the savepoint.
+     */
+    public void rollbackToSavepoint() throws StorageOperationException {
+        if (savepointLength < 0) {
+            throw new StorageOperationException("No uncommitted changes to roll back in journal file: " + journalPath);
+        }
+        pendingRecords.setLength(savepointLength);
+        recordCount = savepointRecordCount;
+        savepointLength = -1;
+    }
+
+    /**
+     * Commits outstanding changes and waits for any compaction in progress to finish.
+     *
+     * @throws StorageOperationException if there were errors writing the journal or compacting it.
+     */
+    public void close() throws StorageOperationException {
+        try {
+            commit();
+            awaitCompaction();
+        } finally {
+            compactor.shutdown();
+            try {
+                journalWriter.close();
+            } catch (IOException ioe) {
+                throw new StorageOperationException("Error closing journal file: " + journalPath);
+            }
+        }
+    }
+
+    private boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    /**
+     * Sets the journal file aside and starts writing a snapshot of the address book to the storage file in the
+     * background. Changes made from now on go to a fresh journal file.
+     */
+    private void startCompaction() throws StorageOperationException {
+        awaitCompaction(); // surfaces the failure of the previous compaction, if any
+        try {
+            journalWriter.close();
+            Files.move(journalPath, compactingPath);
+            journalWriter = openForAppend(journalPath);
+            recordCount = 0;
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error setting aside journal file: " + journalPath);
+        }
+        final AddressBook snapshot = new AddressBook(addressBook);
+        compaction = compactor.submit(() -> {
+            storage.save(snapshot);
+            Files.delete(compactingPath);
+            return null;
+        });
+    }
+
+    private void awaitCompaction() throws StorageOperationException {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new StorageOperationException("Interrupted while compacting journal file: " + journalPath);
+        } catch (ExecutionException ee) {
+            throw new StorageOperationException("Error compacting journal file: " + journalPath
+                    + " (" + ee.getCause().getMessage() + ")");
+        } finally {
+            compaction = null;
+        }
+    }
+
+    private static Writer openForAppend(Path path) throws IOException {
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Drops the torn last record of the given journal file, if any, so that the next record appended goes on a
+     * line of its own. Line breaks are single bytes in UTF-8 that cannot be part of another character, so the
+     * file is searched backwards for one byte by byte.
+     */
+    private static void truncateTornRecord(Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            while (end > 0 && readByte(channel, end - 1) != '\n') {
+                end--;
+            }
+            channel.truncate(end);
+        }
+    }
+
+    /**
+     * Returns true if the given journal file ends with a line break, i.e. its last record is complete.
+     */
+    private static boolean endsWithLineBreak(Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.size() > 0 && readByte(channel, channel.size() - 1) == '\n';
+        }
+    }
+
+    private static byte readByte(FileChannel channel, long position) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, position);
+        return buffer.get(0);
+    }
+
+    private static int countLines(Path path) throws IOException {
+        int count = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            while (reader.readLine() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /*
+     * ==================== Recording changes ====================
+     */
+
+    @Override
+    public void personAdded(ReadOnlyPerson person) {
+        appendRecord(RECORD_ADD_PERSON, personToFields(person));
+    }
+
+    @Override
+    public void personRemoved(ReadOnlyPerson person) {
+        appendRecord(RECORD_DELETE_PERSON, personToFields(person));
+    }
+
+    @Override
+    public void tagAdded(Tag tag) {
+        appendRecord(RECORD_ADD_TAG, tag.tagName);
+    }
+
+    @Override
+    public void tagRemoved(Tag tag) {
+        appendRecord(RECORD_DELETE_TAG, tag.tagName);
+    }
+
+    @Override
+    public void addressBookCleared() {
+        appendRecord(RECORD_CLEAR);
+    }
+
+    /**
+     * Records are single lines of tab separated fields, the first of which is the record type.
+     */
+    private void appendRecord(String recordType, String... fields) {
+        pendingRecords.append(recordType);
+        for (String field : fields) {
+            pendingRecords.append(FIELD_SEPARATOR);
+            appendEscaped(field);
+        }
+        pendingRecords.append('\n');
+        recordCount++;
+    }
+
+    private void appendEscaped(String field) {
+        for (char c : field.toCharArray()) {
+            switch (c) {
+            case ESCAPE:
+                pendingRecords.append(ESCAPE).append(ESCAPE);
+                break;
+            case FIELD_SEPARATOR:
+                pendingRecords.append(ESCAPE).append('t');
+                break;
+            case '\n':
+                pendingRecords.append(ESCAPE).append('n');
+                break;
+            case '\r':
+                pendingRecords.append(ESCAPE).append('r');
+                break;
+            default:
+                pendingRecords.append(c);
+            }
+        }
+    }
+
+    /**
+     * Person records hold the name, phone, email and address, a privacy field with one '0' or '1' for each of
+     * phone, email and address, and the space separated tag names.
+     */
+    private static String[] personToFields(ReadOnlyPerson person) {
+        final StringBuilder tagNames = new StringBuilder();
+        for (Tag tag : person.getTags()) {
+            if (tagNames.length() > 0) {
+                tagNames.append(TAG_SEPARATOR);
+            }
+            tagNames.append(tag.tagName);
+        }
+        final String privacy = (person.getPhone().isPrivate() ? "1" : "0")
+                + (person.getEmail().isPrivate() ? "1" : "0")
+                + (person.getAddress().isPrivate() ? "1" : "0");
+        return new String[] {
+                person.getName().fullName,
+                person.getPhone().value,
+                person.getEmail().value,
+                person.getAddress().value,
+                privacy,
+                tagNames.toString()
+        };
+    }
+
+    /*
+     * ==================== Replaying changes ====================
+     */
+
+    /**
+     * Applies the records in the given journal file to {@link #addressBook}, if the file exists.
+     * Changes that are already reflected in the address book are skipped, so replaying is idempotent.
+     * Records are only complete once their line break is written: a last record without one is the result of a
+     * write cut short by a crash, and is not applied even if what was written of it can be parsed.
+     */
+    private void replay(Path path) throws StorageOperationException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            final boolean isLastRecordTorn = !endsWithLineBreak(path);
+            String record = reader.readLine();
+            while (record != null) {
+                final String nextRecord = reader.readLine();
+                if (nextRecord == null && isLastRecordTorn) {
+                    break;
+                }
+                try {
+                    applyRecord(splitFields(record));
+                } catch (IllegalValueException | RuntimeException e) {
+                    throw new StorageOperationException("Journal file contains illegal data: " + path);
+                }
+                record = nextRecord;
+            }
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading journal file: " + path);
+        }
+    }
+
+    private void applyRecord(List<String> fields) throws IllegalValueException {
+        switch (fields.get(0)) {
+        case RECORD_ADD_PERSON:
+            try {
+                addressBook.addPerson(fieldsToPerson(fields));
+            } catch (DuplicatePersonException dpe) {
+                // already in the storage file
+            }
+            break;
+        case RECORD_DELETE_PERSON:
+            try {
+                addressBook.removePerson(fieldsToPerson(fields));
+            } catch (PersonNotFoundException pnfe) {
+                // already removed from the storage file
+            }
+            break;
+        case RECORD_ADD_TAG:
+            try {
+                addressBook.addTag(TagPool.intern(fields.get(1)));
+            } catch (DuplicateTagException dte) {
+                // already in the storage file
+            }
+            break;
+        case RECORD_DELETE_TAG:
+            try {
+                addressBook.removeTag(TagPool.intern(fields.get(1)));
+            } catch (TagNotFoundException tnfe) {
+                // already removed from the storage file
+            } catch (TagInUseException tiue) {
+                throw new IllegalValueException("Journal removes a tag still carried by persons: " + fields.get(1));
+            }
+            break;
+        case RECORD_CLEAR:
+            addressBook.clear();
+            break;
+        default:
+            throw new IllegalValueException("Unknown journal record type: " + fields.get(0));
+        }
+    }
+
+    private static Person fieldsToPerson(List<String> fields) throws IllegalValueException {
+        final String privacy = fields.get(5);
+        final List<Tag> tags = new ArrayList<>();
+        if (!fields.get(6).isEmpty()) {
+            for (String tagName : fields.get(6).split(TAG_SEPARATOR)) {
+                tags.add(TagPool.intern(tagName));
+            }
+        }
+        return new Person(
+                new Name(fields.get(1)),
+                new Phone(fields.get(2), privacy.charAt(0) == '1'),
+                new Email(fields.get(3), privacy.charAt(1) == '1'),
+                new Address(fields.get(4), privacy.charAt(2) == '1'),
+                new UniqueTagList(tags));
+    }
+
+    private static List<String> splitFields(String record) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        for (int i = 0; i < record.length(); i++) {
+            final char c = record.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == ESCAPE && i + 1 < record.length()) {
+                final char escaped = record.charAt(++i);
+                field.append(escaped == 't' ? FIELD_SEPARATOR
+                        : escaped == 'n' ? '\n'
+                        : escaped == 'r' ? '\r'
+                        : escaped);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,278 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.index.NameTokenIndex;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A read-only view of a storage file in the binary format (see {@link BinaryAddressBookFormat}),
+ * backed by a memory mapping of the file.
+ *
+ * Opening the file only decodes the tag dictionary and records where each person starts, checking the structure of
+ * every record without creating any person objects. Persons are decoded with {@link BinaryAddressBookReader} when
+ * accessed, and name searches decode only the names of the persons they skip. This makes it suitable for looking
+ * through very large address books that would take long to load in full.
+ */
+public class MappedAddressBookFile {
+
+    /**
+     * Name searches scan persons in chunks of this many. The first chunk is always scanned on the calling thread,
+     * see {@link #findPersonsWithNameMatchingAnyKeyword(Collection)}.
+     */
+    static final int SCAN_CHUNK_SIZE = 4096;
+
+    /** Times the fork-join overhead is measured, see {@link #getParallelScanCutoffNanos()}. */
+    private static final int FORK_JOIN_OVERHEAD_RUNS = 9;
+
+    /** See {@link #measureForkJoinOverheadNanos()}. Zero until measured. */
+    private static volatile long forkJoinOverheadNanos;
+
+    /** The mapped file, positioned at the start. Use duplicates to read. */
+    private final ByteBuffer mapping;
+    private final Tag[] tagDictionary;
+    /** Position in {@link #mapping} of every person record, in file order. */
+    private final int[] personOffsets;
+
+    private MappedAddressBookFile(ByteBuffer mapping, Tag[] tagDictionary, int[] personOffsets) {
+        this.mapping = mapping;
+        this.tagDictionary = tagDictionary;
+        this.personOffsets = personOffsets;
+    }
+
+    /**
+     * Maps the given binary storage file and indexes its person records.
+     *
+     * @throws IOException if the file could not be read.
+     * @throws StorageOperationException if the file is not in the binary storage file format or is too large to map.
+     * @throws IllegalValueException if the tag dictionary violates data constraints.
+     */
+    public static MappedAddressBookFile open(Path path) throws IOException, StorageOperationException,
+            IllegalValueException {
+        final ByteBuffer mapping;
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new StorageOperationException("File too large to map: " + path);
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            final BinaryAddressBookReader reader = new BinaryAddressBookReader(mapping.duplicate());
+            final Tag[] tagDictionary = reader.readHeader();
+            final int[] personOffsets = new int[reader.readCount()];
+            for (int i = 0; i < personOffsets.length; i++) {
+                personOffsets[i] = reader.position();
+                reader.skipPerson(tagDictionary.length);
+            }
+            return new MappedAddressBookFile(mapping, tagDictionary, personOffsets);
+        } catch (BufferUnderflowException bue) {
+            throw new StorageOperationException("Error parsing file data format");
+        }
+    }
+
+    /**
+     * Returns the number of persons in the file.
+     */
+    public int size() {
+        return personOffsets.length;
+    }
+
+    /**
+     * Decodes the person at the given position in the file.
+     *
+     * @throws IndexOutOfBoundsException if there is no person at that position.
+     * @throws IllegalStateException if the person's data violates data constraints.
+     */
+    public Person getPerson(int index) {
+        final BinaryAddressBookReader reader = new BinaryAddressBookReader(mapping.duplicate());
+        reader.position(personOffsets[index]);
+        try {
+            return reader.readPerson(tagDictionary);
+        } catch (StorageOperationException | IllegalValueException e) {
+            // the structure of every record was checked on opening, so only data constraints can be violated
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Unmodifiable list view of the persons in the file. Persons are decoded on every access.
+     *
+     * @throws IllegalStateException on access to a person whose data violates data constraints.
+     */
+    public List<ReadOnlyPerson> asList() {
+        return new AbstractList<ReadOnlyPerson>() {
+            @Override
+            public ReadOnlyPerson get(int index) {
+                return getPerson(index);
+            }
+
+            @Override
+            public int size() {
+                return personOffsets.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the persons whose names contain a word matching any of the given keywords, in file order.
+     * Keywords match as in {@link seedu.addressbook.data.AddressBook#findPersonsWithNameMatchingAnyKeyword}.
+     * Only the names of the persons are decoded to look for matches, and only matching persons are decoded in full.
+     *
+     * The first {@link #SCAN_CHUNK_SIZE} persons are scanned on the calling thread, and timed to estimate how long
+     * scanning the rest would take. If that is longer than {@link #getParallelScanCutoffNanos()}, the rest of the
+     * file is split into chunks that are scanned in parallel on the common fork-join pool, and the matches joined
+     * back in file order.
+     *
+     * @throws IllegalStateException if a matching person's data violates data constraints.
+     */
+    public List<ReadOnlyPerson> findPersonsWithNameMatchingAnyKeyword(Collection<String> keywords) {
+        return findPersonsWithNameMatchingAnyKeyword(keywords, getParallelScanCutoffNanos());
+    }
+
+    /**
+     * As {@link #findPersonsWithNameMatchingAnyKeyword(Collection)}, but scanning in parallel whenever scanning the
+     * rest of the file on the calling thread is estimated to take longer than the given time, so that either way of
+     * scanning can be measured.
+     */
+    List<ReadOnlyPerson> findPersonsWithNameMatchingAnyKeyword(Collection<String> keywords,
+            long parallelCutoffNanos) {
+        final List<Predicate<String>> wordMatchers = new ArrayList<>();
+        for (String keyword : keywords) {
+            wordMatchers.add(NameTokenIndex.getWordMatcher(keyword));
+        }
+        final int firstChunkEnd = Math.min(SCAN_CHUNK_SIZE, personOffsets.length);
+        final long start = System.nanoTime();
+        final List<ReadOnlyPerson> matches = findPersonsWithNameMatchingAny(wordMatchers, 0, firstChunkEnd);
+        final int remaining = personOffsets.length - firstChunkEnd;
+        if (remaining == 0) {
+            return matches;
+        }
+        final long estimatedNanos = (System.nanoTime() - start) * remaining / firstChunkEnd;
+        if (estimatedNanos > parallelCutoffNanos && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            matches.addAll(ForkJoinPool.commonPool().invoke(
+                    new NameScanTask(wordMatchers, firstChunkEnd, personOffsets.length)));
+        } else {
+            matches.addAll(findPersonsWithNameMatchingAny(wordMatchers, firstChunkEnd, personOffsets.length));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the persons from the given start position up to the given end position in the file whose names have
+     * a word matching any of the given matchers, in file order.
+     */
+    private List<ReadOnlyPerson> findPersonsWithNameMatchingAny(List<Predicate<String>> wordMatchers, int from,
+            int to) {
+        final List<ReadOnlyPerson> matches = new ArrayList<>();
+        final BinaryAddressBookReader reader = new BinaryAddressBookReader(mapping.duplicate());
+        for (int i = from; i < to; i++) {
+            reader.position(personOffsets[i]);
+            final String name;
+            try {
+                name = reader.readString();
+            } catch (StorageOperationException soe) {
+                throw new IllegalStateException(soe.getMessage(), soe); // checked on opening
+            }
+            if (hasWordMatchingAny(name, wordMatchers)) {
+                matches.add(getPerson(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the persons in a range of the file whose names match, as
+     * {@link #findPersonsWithNameMatchingAny(List, int, int)} does, halving the range until it is no longer than
+     * {@link #SCAN_CHUNK_SIZE} so that the halves can be scanned by different threads.
+     */
+    private class NameScanTask extends RecursiveTask<List<ReadOnlyPerson>> {
+
+        private final List<Predicate<String>> wordMatchers;
+        private final int from;
+        private final int to;
+
+        NameScanTask(List<Predicate<String>> wordMatchers, int from, int to) {
+            this.wordMatchers = wordMatchers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<ReadOnlyPerson> compute() {
+            if (to - from <= SCAN_CHUNK_SIZE) {
+                return findPersonsWithNameMatchingAny(wordMatchers, from, to);
+            }
+            final int middle = (from + to) >>> 1;
+            final NameScanTask firstHalf = new NameScanTask(wordMatchers, from, middle);
+            firstHalf.fork();
+            final List<ReadOnlyPerson> secondHalfMatches = new NameScanTask(wordMatchers, middle, to).compute();
+            final List<ReadOnlyPerson> matches = firstHalf.join();
+            matches.addAll(secondHalfMatches);
+            return matches;
+        }
+    }
+
+    /**
+     * Returns how long a name search must be estimated to take on the calling thread for scanning in parallel to
+     * save time, or {@link Long#MAX_VALUE} if the common fork-join pool has a single thread. Spread over the
+     * {@code p} threads of the pool, a scan takes {@code 1/p} of its time, plus the overhead of handing work to the
+     * pool and waiting for it. That overhead is measured on the first call, so the cutoff follows the machine the
+     * program runs on.
+     */
+    static long getParallelScanCutoffNanos() {
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            return Long.MAX_VALUE;
+        }
+        if (forkJoinOverheadNanos == 0) {
+            forkJoinOverheadNanos = measureForkJoinOverheadNanos();
+        }
+        return forkJoinOverheadNanos * parallelism / (parallelism - 1);
+    }
+
+    /**
+     * Returns the median time taken to hand one empty task to each thread of the common fork-join pool and wait for
+     * them all, after a first run that may have to start the threads.
+     */
+    private static long measureForkJoinOverheadNanos() {
+        final long[] nanos = new long[FORK_JOIN_OVERHEAD_RUNS];
+        for (int i = -1; i < nanos.length; i++) {
+            final long start = System.nanoTime();
+            IntStream.range(0, ForkJoinPool.getCommonPoolParallelism()).parallel().forEach(task -> { });
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        return Math.max(1, nanos[nanos.length / 2]);
+    }
+
+    /**
+     * Returns true if a word of the given name, split as by {@link Name#getWordsInName()}, matches any of the given
+     * matchers.
+     */
+    private static boolean hasWordMatchingAny(String name, List<Predicate<String>> wordMatchers) {
+        for (String word : name.split("\\s+")) {
+            for (Predicate<String> wordMatcher : wordMatchers) {
+                if (wordMatcher.test(word)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,194 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static seedu.addressbook.storage.DelimitedTextFormat.*;
+
+/**
+ * Writes persons to a file for use by other programs, one person at a time, so that only a fixed size buffer
+ * is held in memory however many persons are written.
+ *
+ * Files ending in {@link #JSON_LINES_FILE_EXTENSION} get one JSON object per line. Other files get delimiter
+ * separated values as described in {@link DelimitedTextFormat}, which can be imported again.
+ *
+ * Private contact details are written along with the names of the private details, unless redaction is requested,
+ * in which case they are left out. Redacted rows cannot be imported again, as persons need all contact details.
+ */
+public class PersonExporter {
+
+    /** File name extension of files holding JSON Lines. */
+    public static final String JSON_LINES_FILE_EXTENSION = ".jsonl";
+
+    /** Size of the buffer between the exporter and the file, in characters. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> HEADER = Arrays.asList(
+            COLUMN_NAME, COLUMN_PHONE, COLUMN_EMAIL, COLUMN_ADDRESS, COLUMN_TAGS, COLUMN_PRIVATE);
+
+    private PersonExporter() {}
+
+    /**
+     * Writes the given persons to the file at the given path, replacing its contents.
+     *
+     * @param isRedacted whether to leave out private contact details
+     * @return the number of persons written
+     * @throws IOException if the file could not be written.
+     */
+    public static int export(Iterable<? extends ReadOnlyPerson> persons, Path path, boolean isRedacted)
+            throws IOException {
+        try (final Writer fileWriter = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return path.toString().endsWith(JSON_LINES_FILE_EXTENSION)
+                    ? exportJsonLines(persons, fileWriter, isRedacted)
+                    : exportDelimited(persons, new DelimitedTextWriter(fileWriter, delimiterFor(path)), isRedacted);
+        }
+    }
+
+    private static int exportDelimited(Iterable<? extends ReadOnlyPerson> persons, DelimitedTextWriter out,
+                                       boolean isRedacted) throws IOException {
+        out.writeRecord(HEADER);
+        final List<String> fields = new ArrayList<>(HEADER.size());
+        int count = 0;
+        for (ReadOnlyPerson person : persons) {
+            fields.clear();
+            fields.add(person.getName().fullName);
+            fields.add(isRedacted && person.getPhone().isPrivate() ? "" : person.getPhone().value);
+            fields.add(isRedacted && person.getEmail().isPrivate() ? "" : person.getEmail().value);
+            fields.add(isRedacted && person.getAddress().isPrivate() ? "" : person.getAddress().value);
+            fields.add(String.join(VALUE_SEPARATOR, getTagNames(person)));
+            fields.add(String.join(VALUE_SEPARATOR, getPrivateDetails(person)));
+            out.writeRecord(fields);
+            count++;
+        }
+        return count;
+    }
+
+    private static int exportJsonLines(Iterable<? extends ReadOnlyPerson> persons, Writer out, boolean isRedacted)
+            throws IOException {
+        int count = 0;
+        for (ReadOnlyPerson person : persons) {
+            out.write('{');
+            writeJsonMember(out, COLUMN_NAME, person.getName().fullName);
+            if (!(isRedacted && person.getPhone().isPrivate())) {
+                out.write(',');
+                writeJsonMember(out, COLUMN_PHONE, person.getPhone().value);
+            }
+            if (!(isRedacted && person.getEmail().isPrivate())) {
+                out.write(',');
+                writeJsonMember(out, COLUMN_EMAIL, person.getEmail().value);
+            }
+            if (!(isRedacted && person.getAddress().isPrivate())) {
+                out.write(',');
+                writeJsonMember(out, COLUMN_ADDRESS, person.getAddress().value);
+            }
+            out.write(',');
+            writeJsonMember(out, COLUMN_TAGS, getTagNames(person));
+            out.write(',');
+            writeJsonMember(out, COLUMN_PRIVATE, getPrivateDetails(person));
+            out.write("}\n");
+            count++;
+        }
+        return count;
+    }
+
+    private static List<String> getTagNames(ReadOnlyPerson person) {
+        final List<String> tagNames = new ArrayList<>();
+        for (Tag tag : person.getTags()) {
+            tagNames.add(tag.tagName);
+        }
+        return tagNames;
+    }
+
+    /**
+     * Returns the column names of the private contact details of the given person.
+     */
+    private static List<String> getPrivateDetails(ReadOnlyPerson person) {
+        final List<String> privateDetails = new ArrayList<>(3);
+        if (person.getPhone().isPrivate()) {
+            privateDetails.add(COLUMN_PHONE);
+        }
+        if (person.getEmail().isPrivate()) {
+            privateDetails.add(COLUMN_EMAIL);
+        }
+        if (person.getAddress().isPrivate()) {
+            privateDetails.add(COLUMN_ADDRESS);
+        }
+        return privateDetails;
+    }
+
+    private static void writeJsonMember(Writer out, String name, String value) throws IOException {
+        writeJsonString(out, name);
+        out.write(':');
+        writeJsonString(out, value);
+    }
+
+    private static void writeJsonMember(Writer out, String name, List<String> values) throws IOException {
+        writeJsonString(out, name);
+        out.write(":[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeJsonString(out, values.get(i));
+        }
+        out.write(']');
+    }
+
+    private static void writeJsonString(Writer out, String value) throws IOException {
+        out.write('"');
+        if (!needsJsonEscapes(value)) {
+            out.write(value);
+            out.write('"');
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    private static boolean needsJsonEscapes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package seedu.addressbook.storage;
+
+/**
+ * Counts how often the address book was saved after a command, and how often saving was skipped
+ * because the command did not change anything.
+ */
+public class SaveStatistics {
+
+    private long performedSaves;
+    private long skippedSaves;
+
+    public void recordPerformedSave() {
+        performedSaves++;
+    }
+
+    public void recordSkippedSave() {
+        skippedSaves++;
+    }
+
+    public long getPerformedSaves() {
+        return performedSaves;
+    }
+
+    public long getSkippedSaves() {
+        return skippedSaves;
+    }
+
+    @Override
+    public String toString() {
+        return "Saves performed: " + performedSaves + ", skipped: " + skippedSaves;
+    }
+}
@@ -2,24 +2,56 @@ package seedu.addressbook.storage;
 
 import seedu.addressbook.data.AddressBook;
 import seedu.addressbook.data.exception.IllegalValueException;
-import seedu.addressbook.storage.jaxb.AdaptedAddressBook;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 import java.io.*;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents the file used to store address book data.
+ * The data is stored as XML, or in a compact binary format if the file name ends with {@link #BINARY_FILE_EXTENSION}.
  */
 public class StorageFile {
 
     /** Default file path used if the user doesn't provide the file name. */
     public static final String DEFAULT_STORAGE_FILEPATH = "addressbook.txt";
 
+    /** File name extension of storage files holding XML data. */
+    public static final String XML_FILE_EXTENSION = ".txt";
+
+    /** File name extension of storage files holding binary data, see {@link BinaryAddressBookFormat}. */
+    public static final String BINARY_FILE_EXTENSION = ".bin";
+
+    /**
+     * Suffix of the temporary files that saves write to before replacing the storage file. They are created next to
+     * the storage file, with unique names so that concurrent saves do not collide.
+     */
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * How much effort a save makes to ensure the saved data survives crashes.
+     * Safer levels make saving slower.
+     */
+    public enum Durability {
+        /** Overwrite the storage file in place. A crash while saving can leave the file corrupt or empty. */
+        NONE,
+        /**
+         * Write to a temporary file, then rename it over the storage file. A crash of the program while saving
+         * leaves the previous data intact, but a crash of the operating system may lose the save.
+         */
+        FLUSH,
+        /**
+         * Like {@link #FLUSH}, but also force the data and the rename to the storage device before returning,
+         * so the save also survives operating system crashes and power loss.
+         */
+        FSYNC
+    }
+
     /* Note: Note the use of nested classes below.
      * More info https://docs.oracle.com/javase/tutorial/java/javaOO/nested.html
      */
@@ -43,10 +75,13 @@ public class StorageFile {
         }
     }
 
-    private final JAXBContext jaxbContext;
-
     public final Path path;
 
+    /** Whether to save without line breaks and indentation. */
+    private boolean isOutputCompact;
+
+    private Durability durability = Durability.FLUSH;
+
     /**
      * @throws InvalidStorageFilePathException if the default path is invalid
      */
@@ -58,67 +93,177 @@ public class StorageFile {
      * @throws InvalidStorageFilePathException if the given file path is invalid
      */
     public StorageFile(String filePath) throws InvalidStorageFilePathException {
-        try {
-            jaxbContext = JAXBContext.newInstance(AdaptedAddressBook.class);
-        } catch (JAXBException jaxbe) {
-            throw new RuntimeException("jaxb initialisation error");
-        }
-
         path = Paths.get(filePath);
         if (!isValidPath(path)) {
-            throw new InvalidStorageFilePathException("Storage file should end with '.txt'");
+            throw new InvalidStorageFilePathException("Storage file should end with '" + XML_FILE_EXTENSION
+                    + "' or '" + BINARY_FILE_EXTENSION + "'");
         }
     }
 
     /**
      * Returns true if the given path is acceptable as a storage file.
-     * The file path is considered acceptable if it ends with '.txt'
+     * The file path is considered acceptable if it ends with '.txt' or '.bin'
      */
     private static boolean isValidPath(Path filePath) {
-        return filePath.toString().endsWith(".txt");
+        return filePath.toString().endsWith(XML_FILE_EXTENSION) || isBinaryPath(filePath);
+    }
+
+    private static boolean isBinaryPath(Path filePath) {
+        return filePath.toString().endsWith(BINARY_FILE_EXTENSION);
+    }
+
+    /**
+     * Sets whether saved XML data is written without line breaks and indentation, which makes the file smaller and
+     * faster to write but hard to read for humans. Both forms are loaded the same way.
+     */
+    public void setOutputCompact(boolean isOutputCompact) {
+        this.isOutputCompact = isOutputCompact;
+    }
+
+    /**
+     * Sets how much effort saves make to ensure the saved data survives crashes. Defaults to {@link Durability#FLUSH}.
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Writes data to an open file. Must flush all data written to the file before returning.
+     */
+    private interface FileContentWriter {
+        void write(OutputStream fileStream) throws IOException, XMLStreamException;
     }
 
     /**
      * Saves all data to this storage file.
+     * The data is streamed to the file while iterating over the address book, without an intermediate copy.
+     * Unless the durability level is {@link Durability#NONE}, the storage file is replaced only once all data has
+     * been written, so a failed save leaves the previous data in place.
      *
      * @throws StorageOperationException if there were errors converting and/or storing data to file.
      */
     public void save(AddressBook addressBook) throws StorageOperationException {
+        try {
+            if (isBinaryPath(path)) {
+                writeFile(fileStream -> saveBinary(addressBook, fileStream));
+            } else {
+                writeFile(fileStream -> saveXml(addressBook, fileStream));
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new StorageOperationException("Error writing to file: " + path);
+        }
+    }
 
-        /* Note: Note the 'try with resource' statement below.
-         * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
-         */
-        try (final Writer fileWriter =
-                     new BufferedWriter(new FileWriter(path.toFile()))) {
+    private void saveXml(AddressBook addressBook, OutputStream fileStream) throws IOException, XMLStreamException {
+        final Writer fileWriter = new BufferedWriter(new OutputStreamWriter(fileStream, StandardCharsets.UTF_8));
+        XmlAddressBookWriter.write(addressBook, fileWriter, !isOutputCompact);
+        fileWriter.flush();
+    }
 
-            final AdaptedAddressBook toSave = new AdaptedAddressBook(addressBook);
-            final Marshaller marshaller = jaxbContext.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.marshal(toSave, fileWriter);
+    private void saveBinary(AddressBook addressBook, OutputStream fileStream) throws IOException {
+        BinaryAddressBookWriter.write(addressBook, new BufferedOutputStream(fileStream));
+    }
+
+    /**
+     * Writes this storage file with the given writer, as safely as the durability level requires.
+     */
+    private void writeFile(FileContentWriter contentWriter) throws IOException, XMLStreamException {
+        if (durability == Durability.NONE) {
+            /* Note: Note the 'try with resource' statement below.
+             * More info: https://docs.oracle.com/javase/tutorial/essential/exceptions/tryResourceClose.html
+             */
+            try (final FileOutputStream fileStream = new FileOutputStream(path.toFile())) {
+                contentWriter.write(fileStream);
+            }
+            return;
+        }
 
+        final Path tempPath = createTempFile();
+        try {
+            copyPermissions(path, tempPath);
+            try (final FileOutputStream fileStream = new FileOutputStream(tempPath.toFile())) {
+                contentWriter.write(fileStream);
+                if (durability == Durability.FSYNC) {
+                    fileStream.getChannel().force(true);
+                }
+            }
+            replaceWith(tempPath);
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            throw e;
+        }
+        if (durability == Durability.FSYNC) {
+            forceDirectory(path.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Creates an empty file with a unique name next to this storage file, with the permissions new files get by
+     * default, as the storage file would if it were created directly. {@link Files#createTempFile} is not used,
+     * as it makes files readable by their owner only.
+     */
+    private Path createTempFile() throws IOException {
+        final Path directory = path.toAbsolutePath().getParent();
+        while (true) {
+            final Path tempPath = directory.resolve(path.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMP_FILE_SUFFIX);
+            try {
+                return Files.createFile(tempPath);
+            } catch (FileAlreadyExistsException faee) {
+                // try another name
+            }
+        }
+    }
+
+    /**
+     * Gives the target file the POSIX permissions of the source file, if the source exists and the file system
+     * has POSIX permissions, so that replacing a file with a new one keeps who may read and write it.
+     */
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        final PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null || !Files.exists(source)) {
+            return;
+        }
+        Files.setPosixFilePermissions(target, sourceView.readAttributes().permissions());
+    }
+
+    /**
+     * Replaces this storage file with the given file, atomically if the file system supports it.
+     */
+    private void replaceWith(Path source) throws IOException {
+        try {
+            Files.move(source, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(source, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces changes to the entries of the given directory, such as renames, to the storage device.
+     * Does nothing on platforms that do not allow opening directories.
+     */
+    private static void forceDirectory(Path directory) {
+        try (final FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
         } catch (IOException ioe) {
-            throw new StorageOperationException("Error writing to file: " + path);
-        } catch (JAXBException jaxbe) {
-            throw new StorageOperationException("Error converting address book into storage format");
+            // directories cannot be opened on this platform
         }
     }
 
     /**
      * Loads data from this storage file.
+     * Each person is added to the address book as soon as it is read, so loading needs little memory beyond that
+     * of the loaded address book itself.
      *
      * @throws StorageOperationException if there were errors reading and/or converting data from file.
      */
     public AddressBook load() throws StorageOperationException {
-        try (final Reader fileReader =
-                     new BufferedReader(new FileReader(path.toFile()))) {
-
-            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            final AdaptedAddressBook loaded = (AdaptedAddressBook) unmarshaller.unmarshal(fileReader);
-            // manual check for missing elements
-            if (loaded.isAnyRequiredFieldMissing()) {
-                throw new StorageOperationException("File data missing some elements");
-            }
-            return loaded.toModelType();
+        try {
+            return isBinaryPath(path) ? loadBinary() : loadXml();
 
         /* Note: Here, we are using an exception to create the file if it is missing. However, we should minimize
          * using exceptions to facilitate normal paths of execution. If we consider the missing file as a 'normal'
@@ -126,21 +271,66 @@ public class StorageFile {
          */
 
         // create empty file if not found
-        } catch (FileNotFoundException fnfe) {
+        } catch (FileNotFoundException | NoSuchFileException e) {
             final AddressBook empty = new AddressBook();
             save(empty);
             return empty;
 
         // other errors
+        } catch (EOFException eofe) {
+            throw new StorageOperationException("Error parsing file data format");
         } catch (IOException ioe) {
             throw new StorageOperationException("Error writing to file: " + path);
-        } catch (JAXBException jaxbe) {
+        } catch (XMLStreamException xse) {
             throw new StorageOperationException("Error parsing file data format");
         } catch (IllegalValueException ive) {
             throw new StorageOperationException("File contains illegal data values; data type constraints not met");
         }
     }
 
+    private AddressBook loadXml() throws IOException, XMLStreamException, StorageOperationException,
+            IllegalValueException {
+        try (final Reader fileReader =
+                     new BufferedReader(new InputStreamReader(new FileInputStream(path.toFile()),
+                             StandardCharsets.UTF_8))) {
+            return XmlAddressBookReader.read(fileReader);
+        }
+    }
+
+    /**
+     * Binary files are read into memory whole before decoding, which takes far less memory than the persons
+     * decoded from them, and lets the decoder check every length against the size of the file.
+     */
+    private AddressBook loadBinary() throws IOException, StorageOperationException, IllegalValueException {
+        return BinaryAddressBookReader.read(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Returns true if this storage file exists and can be opened with {@link #openMapped()}.
+     */
+    public boolean canBeMapped() {
+        return isBinaryPath(path) && Files.exists(path);
+    }
+
+    /**
+     * Opens this storage file as a read-only, memory mapped view that decodes persons only when they are accessed.
+     * Only available for files in the binary format. The view does not see later saves to this file.
+     *
+     * @throws StorageOperationException if this is not a binary storage file, or there were errors reading it.
+     */
+    public MappedAddressBookFile openMapped() throws StorageOperationException {
+        if (!isBinaryPath(path)) {
+            throw new StorageOperationException("Only binary storage files can be mapped: " + path);
+        }
+        try {
+            return MappedAddressBookFile.open(path);
+        } catch (IOException ioe) {
+            throw new StorageOperationException("Error reading from file: " + path);
+        } catch (IllegalValueException ive) {
+            throw new StorageOperationException("File contains illegal data values; data type constraints not met");
+        }
+    }
+
     public String getPath() {
         return path.toString();
     }
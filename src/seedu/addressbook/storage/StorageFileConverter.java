@@ -0,0 +1,47 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.StorageFile.InvalidStorageFilePathException;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Converts a storage file from one storage format to another, e.g. from XML to binary or back.
+ * The formats are taken from the file name extensions, see {@link StorageFile}.
+ * No data is lost in either direction.
+ */
+public class StorageFileConverter {
+
+    public static final String MESSAGE_USAGE = "Usage: java seedu.addressbook.storage.StorageFileConverter "
+            + "SOURCE_FILE_PATH TARGET_FILE_PATH";
+
+    public static void main(String... args) {
+        if (args.length != 2) {
+            System.err.println(MESSAGE_USAGE);
+            System.exit(1);
+        }
+        try {
+            convert(new StorageFile(args[0]), new StorageFile(args[1]));
+        } catch (InvalidStorageFilePathException | StorageOperationException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads the address book in the source storage file and saves it to the target storage file.
+     *
+     * @throws StorageOperationException if the source does not exist, or there were errors reading the source or
+     *         writing the target.
+     */
+    public static void convert(StorageFile source, StorageFile target) throws StorageOperationException {
+        // loading would create a missing source as an empty file, and the empty address book would be converted
+        if (!Files.exists(Paths.get(source.getPath()))) {
+            throw new StorageOperationException("Source file not found: " + source.getPath());
+        }
+        final AddressBook addressBook = source.load();
+        target.save(addressBook);
+    }
+}
@@ -0,0 +1,157 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Saves snapshots of an address book to a storage file on a background thread, so that callers do not wait for
+ * the disk.
+ *
+ * Snapshots submitted while an earlier one is being saved are coalesced: only the most recent of them is saved
+ * next, since it already includes the changes of the others. A failed save is reported by the next call to
+ * {@link #submit(AddressBook)} or {@link #flush()}.
+ */
+public class WriteBehindPersister {
+
+    private final StorageFile storage;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "write-behind-persister");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /* All fields below are guarded by this persister's lock. */
+
+    /** The most recent snapshot that has not been picked up for saving yet, or null if there is none. */
+    private AddressBook pendingSnapshot;
+
+    /** Whether a save is scheduled or running on the background thread. */
+    private boolean isWriting;
+
+    private long submittedCount;
+    /** Number of submitted snapshots whose changes have been saved, including coalesced ones. */
+    private long persistedCount;
+    private long lastPersistedVersion = -1;
+
+    /** The failure of the last save, or null if it succeeded. */
+    private StorageOperationException failure;
+
+    /**
+     * @param storage the storage file to save snapshots to
+     */
+    public WriteBehindPersister(StorageFile storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Schedules the given address book to be saved. The address book must not be modified afterwards;
+     * pass a snapshot made with {@link AddressBook#AddressBook(AddressBook)}, which takes constant time.
+     *
+     * @throws StorageOperationException if an earlier save failed. The given snapshot is still scheduled.
+     */
+    public synchronized void submit(AddressBook snapshot) throws StorageOperationException {
+        pendingSnapshot = snapshot;
+        submittedCount++;
+        if (!isWriting) {
+            isWriting = true;
+            writer.execute(this::writePendingSnapshots);
+        }
+        throwFailure();
+    }
+
+    /**
+     * Saves pending snapshots until there are none left. Runs on the background thread.
+     */
+    private void writePendingSnapshots() {
+        while (true) {
+            final AddressBook snapshot;
+            final long coveredCount;
+            synchronized (this) {
+                if (pendingSnapshot == null) {
+                    isWriting = false;
+                    notifyAll();
+                    return;
+                }
+                snapshot = pendingSnapshot;
+                coveredCount = submittedCount;
+                pendingSnapshot = null;
+            }
+
+            StorageOperationException saveFailure = null;
+            try {
+                storage.save(snapshot);
+            } catch (StorageOperationException soe) {
+                saveFailure = soe;
+            } catch (RuntimeException re) {
+                saveFailure = new StorageOperationException("Error writing to file: " + storage.getPath());
+            }
+
+            synchronized (this) {
+                failure = saveFailure;
+                if (saveFailure == null) {
+                    persistedCount = coveredCount;
+                    lastPersistedVersion = snapshot.getModificationCount();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until every submitted snapshot has been saved.
+     *
+     * @throws StorageOperationException if the last save failed.
+     */
+    public synchronized void flush() throws StorageOperationException {
+        boolean isInterrupted = false;
+        while (isWriting) {
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        throwFailure();
+    }
+
+    /**
+     * Saves every submitted snapshot and stops the background thread.
+     *
+     * @throws StorageOperationException if the last save failed.
+     */
+    public void close() throws StorageOperationException {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private void throwFailure() throws StorageOperationException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the number of submitted snapshots whose changes have not been saved yet.
+     */
+    public synchronized long getQueueDepth() {
+        return submittedCount - persistedCount;
+    }
+
+    /**
+     * Returns the modification count of the most recently saved snapshot, or -1 if none has been saved yet.
+     *
+     * @see AddressBook#getModificationCount()
+     */
+    public synchronized long getLastPersistedVersion() {
+        return lastPersistedVersion;
+    }
+}
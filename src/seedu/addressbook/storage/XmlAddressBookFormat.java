@@ -0,0 +1,22 @@
+package seedu.addressbook.storage;
+
+/**
+ * Element and attribute names of the XML storage file format, shared by {@link XmlAddressBookReader} and
+ * {@link XmlAddressBookWriter}.
+ */
+class XmlAddressBookFormat {
+
+    static final String ELEMENT_ADDRESS_BOOK = "AddressBook";
+    static final String ELEMENT_PERSON = "persons";
+    static final String ELEMENT_TAG = "tags";
+
+    static final String ELEMENT_NAME = "name";
+    static final String ELEMENT_PHONE = "phone";
+    static final String ELEMENT_EMAIL = "email";
+    static final String ELEMENT_ADDRESS = "address";
+    static final String ELEMENT_PERSON_TAG = "tagged";
+
+    static final String ATTRIBUTE_IS_PRIVATE = "isPrivate";
+
+    private XmlAddressBookFormat() {}
+}
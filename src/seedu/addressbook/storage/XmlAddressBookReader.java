@@ -0,0 +1,145 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.exception.IllegalValueException;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagPool;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static seedu.addressbook.storage.XmlAddressBookFormat.*;
+
+/**
+ * Reads an address book in the XML storage file format with a streaming (StAX) parser.
+ * Each person element is converted into a {@link Person} and added to the address book as soon as it has been read,
+ * so no intermediate copy of the whole document is ever held in memory.
+ *
+ * Unknown elements are ignored, so files written by other versions of the program can still be read.
+ */
+class XmlAddressBookReader {
+
+    private final XMLStreamReader xml;
+    private final AddressBook addressBook = new AddressBook();
+    /** The tags of the master tag list read so far, to reject duplicates. */
+    private final UniqueTagList masterTags = new UniqueTagList();
+
+    private XmlAddressBookReader(Reader source) throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xml = factory.createXMLStreamReader(source);
+    }
+
+    /**
+     * Reads the address book from the given source.
+     *
+     * @throws XMLStreamException if the source is not well-formed XML or could not be read.
+     * @throws StorageOperationException if some required element is missing.
+     * @throws IllegalValueException if there were any data constraints violated in the data read,
+     *         including a tag appearing twice in the master tag list.
+     */
+    static AddressBook read(Reader source)
+            throws XMLStreamException, StorageOperationException, IllegalValueException {
+        final XmlAddressBookReader reader = new XmlAddressBookReader(source);
+        try {
+            reader.readAddressBook();
+            return reader.addressBook;
+        } finally {
+            reader.xml.close();
+        }
+    }
+
+    private void readAddressBook() throws XMLStreamException, StorageOperationException, IllegalValueException {
+        xml.nextTag();
+        xml.require(XMLStreamConstants.START_ELEMENT, null, ELEMENT_ADDRESS_BOOK);
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+            case ELEMENT_PERSON:
+                addressBook.addPerson(readPerson());
+                break;
+            case ELEMENT_TAG:
+                final Tag tag = TagPool.intern(xml.getElementText());
+                masterTags.add(tag);
+                // tags of persons were already added along with the persons
+                if (!addressBook.containsTag(tag)) {
+                    addressBook.addTag(tag);
+                }
+                break;
+            default:
+                skipElement();
+            }
+        }
+    }
+
+    /**
+     * Reads the person element the parser is positioned at, leaving the parser at its end tag.
+     */
+    private Person readPerson() throws XMLStreamException, StorageOperationException, IllegalValueException {
+        Name name = null;
+        Phone phone = null;
+        Email email = null;
+        Address address = null;
+        final List<Tag> tags = new ArrayList<>();
+
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+            case ELEMENT_NAME:
+                name = new Name(xml.getElementText());
+                break;
+            case ELEMENT_PHONE:
+                final boolean isPhonePrivate = readIsPrivateAttribute();
+                phone = new Phone(xml.getElementText(), isPhonePrivate);
+                break;
+            case ELEMENT_EMAIL:
+                final boolean isEmailPrivate = readIsPrivateAttribute();
+                email = new Email(xml.getElementText(), isEmailPrivate);
+                break;
+            case ELEMENT_ADDRESS:
+                final boolean isAddressPrivate = readIsPrivateAttribute();
+                address = new Address(xml.getElementText(), isAddressPrivate);
+                break;
+            case ELEMENT_PERSON_TAG:
+                tags.add(TagPool.intern(xml.getElementText()));
+                break;
+            default:
+                skipElement();
+            }
+        }
+        if (name == null || phone == null || email == null || address == null) {
+            throw new StorageOperationException("File data missing some elements");
+        }
+        return new Person(name, phone, email, address, new UniqueTagList(tags));
+    }
+
+    /**
+     * Reads the privacy attribute of the element the parser is positioned at. Absent means not private.
+     */
+    private boolean readIsPrivateAttribute() {
+        final String value = xml.getAttributeValue(null, ATTRIBUTE_IS_PRIVATE);
+        return value != null && (value.trim().equals("true") || value.trim().equals("1"));
+    }
+
+    /**
+     * Skips over the element the parser is positioned at, including all its content.
+     */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
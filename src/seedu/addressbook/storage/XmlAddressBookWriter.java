@@ -0,0 +1,108 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.ReadOnlyPerson;
+import seedu.addressbook.data.tag.Tag;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.Writer;
+
+import static seedu.addressbook.storage.XmlAddressBookFormat.*;
+
+/**
+ * Writes an address book in the XML storage file format with a streaming (StAX) writer.
+ * Elements are emitted directly while iterating over the persons and tags of the address book,
+ * so writing allocates a constant amount of memory per person instead of mirroring the whole address book.
+ */
+class XmlAddressBookWriter {
+
+    private static final String INDENT = "    ";
+
+    private final XMLStreamWriter xml;
+    private final boolean isFormatted;
+
+    private XmlAddressBookWriter(Writer destination, boolean isFormatted) throws XMLStreamException {
+        this.xml = XMLOutputFactory.newInstance().createXMLStreamWriter(destination);
+        this.isFormatted = isFormatted;
+    }
+
+    /**
+     * Writes the given address book to the destination.
+     *
+     * @param isFormatted true to put every element on its own indented line, false for the most compact output
+     * @throws XMLStreamException if the destination could not be written to.
+     */
+    static void write(AddressBook addressBook, Writer destination, boolean isFormatted) throws XMLStreamException {
+        final XmlAddressBookWriter writer = new XmlAddressBookWriter(destination, isFormatted);
+        try {
+            writer.writeAddressBook(addressBook);
+        } finally {
+            writer.xml.close();
+        }
+    }
+
+    private void writeAddressBook(AddressBook addressBook) throws XMLStreamException {
+        xml.writeStartDocument("UTF-8", "1.0");
+        newLine(0);
+        xml.writeStartElement(ELEMENT_ADDRESS_BOOK);
+        for (ReadOnlyPerson person : addressBook.getPersonsView()) {
+            newLine(1);
+            writePerson(person);
+        }
+        for (Tag tag : addressBook.getTagsView()) {
+            newLine(1);
+            writeTextElement(ELEMENT_TAG, tag.tagName);
+        }
+        newLine(0);
+        xml.writeEndElement();
+        newLine(0);
+        xml.writeEndDocument();
+        xml.flush();
+    }
+
+    private void writePerson(ReadOnlyPerson person) throws XMLStreamException {
+        xml.writeStartElement(ELEMENT_PERSON);
+        newLine(2);
+        writeTextElement(ELEMENT_NAME, person.getName().fullName);
+        newLine(2);
+        writeContactDetail(ELEMENT_PHONE, person.getPhone().value, person.getPhone().isPrivate());
+        newLine(2);
+        writeContactDetail(ELEMENT_EMAIL, person.getEmail().value, person.getEmail().isPrivate());
+        newLine(2);
+        writeContactDetail(ELEMENT_ADDRESS, person.getAddress().value, person.getAddress().isPrivate());
+        for (Tag tag : person.getTags()) {
+            newLine(2);
+            writeTextElement(ELEMENT_PERSON_TAG, tag.tagName);
+        }
+        newLine(1);
+        xml.writeEndElement();
+    }
+
+    private void writeContactDetail(String elementName, String value, boolean isPrivate) throws XMLStreamException {
+        xml.writeStartElement(elementName);
+        xml.writeAttribute(ATTRIBUTE_IS_PRIVATE, String.valueOf(isPrivate));
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private void writeTextElement(String elementName, String text) throws XMLStreamException {
+        xml.writeStartElement(elementName);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    /**
+     * Starts a new line at the given indentation level, if writing formatted output.
+     */
+    private void newLine(int indentLevel) throws XMLStreamException {
+        if (!isFormatted) {
+            return;
+        }
+        xml.writeCharacters("\n");
+        for (int i = 0; i < indentLevel; i++) {
+            xml.writeCharacters(INDENT);
+        }
+    }
+}
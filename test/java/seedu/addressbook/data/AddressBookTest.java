@@ -0,0 +1,100 @@
+package seedu.addressbook.data;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.TagExpression;
+import seedu.addressbook.data.tag.TagPool;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.data.tag.UniqueTagList.TagInUseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AddressBookTest {
+
+    /** Enough persons that removing all but a few has their ordinals compacted. */
+    private static final int MANY_PERSONS = 4000;
+
+    @Test(expected = TagInUseException.class)
+    public void removeTag_carriedByPerson_refused() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final Tag friends = TagPool.intern("friends");
+        addressBook.addPerson(makePerson("John Doe", friends));
+        addressBook.removeTag(friends);
+    }
+
+    @Test
+    public void removeTag_noLongerCarried_removed() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final Tag friends = TagPool.intern("friends");
+        final Person john = makePerson("John Doe", friends);
+        addressBook.addPerson(john);
+        addressBook.removePerson(john);
+        addressBook.removeTag(friends);
+        assertFalse(addressBook.containsTag(friends));
+    }
+
+    @Test
+    public void removePerson_givenWithoutTheStoredTags_storedTagsDropped() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final Tag friends = TagPool.intern("friends");
+        addressBook.addPerson(makePerson("John Doe", friends));
+        assertEquals(1, addressBook.findPersonsMatching(TagExpression.tag(friends)).size());
+
+        addressBook.removePerson(makePerson("John Doe")); // equal, as tags are ignored
+        assertTrue(addressBook.findPersonsMatching(TagExpression.tag(friends)).isEmpty());
+        addressBook.removeTag(friends);
+    }
+
+    @Test
+    public void removePerson_manyRemovals_ordinalsCompactedAndSearchesStillCorrect() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final AddressBook snapshot = new AddressBook(addressBook);
+        final Tag friends = TagPool.intern("friends");
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < MANY_PERSONS; i++) {
+            final Person person = makePerson("Person " + toLetters(i), friends);
+            persons.add(person);
+            addressBook.addPerson(person);
+        }
+        // build the ordinal tables before removing
+        assertEquals(persons.size(), addressBook.findPersonsMatching(TagExpression.tag(friends)).size());
+        assertEquals(1, addressBook.searchPersons(toLetters(0), 10).size());
+
+        for (int i = 0; i < persons.size() - 2; i++) {
+            addressBook.removePerson(persons.get(i));
+            if (i >= MANY_PERSONS / 4 && i % 100 == 0) {
+                // indexes built with gaps in the ordinals are renumbered before most of their persons are removed
+                assertSame(persons.get(i + 1), addressBook.searchPersons(toLetters(i + 1), 10).get(0));
+            }
+        }
+
+        final Person secondLast = persons.get(persons.size() - 2);
+        final Person last = persons.get(persons.size() - 1);
+        final List<ReadOnlyPerson> tagged = addressBook.findPersonsMatching(TagExpression.tag(friends));
+        assertEquals(2, tagged.size());
+        assertSame(secondLast, tagged.get(0));
+        assertSame(last, tagged.get(1));
+        final List<ReadOnlyPerson> found = addressBook.searchPersons(toLetters(MANY_PERSONS - 1), 10);
+        assertSame(last, found.get(0));
+        assertTrue(snapshot.getPersonsView().isEmpty());
+    }
+
+    /** Names cannot hold digits, so numbers are spelt in letters. */
+    private static String toLetters(int number) {
+        final StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+
+    private static Person makePerson(String name, Tag... tags) throws Exception {
+        return new Person(new Name(name), new Phone("98765432", false), new Email("someone@example.com", false),
+                new Address("123, Jurong West Ave 6", false), new UniqueTagList(tags));
+    }
+}
@@ -0,0 +1,39 @@
+package seedu.addressbook.data.index;
+
+import org.junit.Test;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RankedSearchTest {
+
+    @Test
+    public void getTopOrdinals_manySparseMatches_bestFirstThenByOrdinal() throws Exception {
+        final WordOrdinalIndex nameIndex = new WordOrdinalIndex(SearchField.NAME::getWords);
+        final int personCount = 500;
+        for (int i = 0; i < personCount; i++) {
+            // far more matches than fit the initial score table, at ordinals far apart
+            final String name = i == 321 ? "Ann Lee Tan" : i % 2 == 0 ? "Ann Lee" : "Bob Lim";
+            nameIndex.add(makePerson(name), i * 100_000);
+        }
+        final Map<SearchField, WordOrdinalIndex> fieldIndexes = new EnumMap<>(SearchField.class);
+        fieldIndexes.put(SearchField.NAME, nameIndex);
+
+        final int[] top = RankedSearch.getTopOrdinals(fieldIndexes, Arrays.asList("ann", "tan"), personCount,
+                ordinal -> true, 3);
+        assertArrayEquals(new int[] { 321 * 100_000, 0, 2 * 100_000 }, top);
+
+        final int[] all = RankedSearch.getTopOrdinals(fieldIndexes, Collections.singleton("lim"), personCount,
+                ordinal -> ordinal != 100_000, personCount);
+        assertEquals(personCount / 2 - 2, all.length); // one removed, and one named Ann Lee Tan instead
+        assertEquals(3 * 100_000, all[0]);
+    }
+
+    private static Person makePerson(String name) throws Exception {
+        return new Person(new Name(name), new Phone("98765432", false), new Email("someone@example.com", false),
+                new Address("123, Jurong West Ave 6", false), new UniqueTagList());
+    }
+}
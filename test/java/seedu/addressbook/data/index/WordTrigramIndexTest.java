@@ -0,0 +1,42 @@
+package seedu.addressbook.data.index;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class WordTrigramIndexTest {
+
+    @Test
+    public void getWordsNear_shortKeywordSharingNoTrigram_found() {
+        final WordTrigramIndex index = new WordTrigramIndex();
+        index.add("tim");
+        index.add("timothy");
+        index.add("to");
+        final Map<String, Integer> near = index.getWordsNear("tom", 1);
+        assertEquals(Integer.valueOf(1), near.get("tim"));
+        assertEquals(Integer.valueOf(1), near.get("to"));
+        assertFalse(near.containsKey("timothy"));
+    }
+
+    @Test
+    public void getWordsNear_longKeyword_foundThroughSharedTrigrams() {
+        final WordTrigramIndex index = new WordTrigramIndex();
+        index.add("johnson");
+        index.add("jonson");
+        index.add("jonsen");
+        final Map<String, Integer> near = index.getWordsNear("johnson", 2);
+        assertEquals(Integer.valueOf(0), near.get("johnson"));
+        assertEquals(Integer.valueOf(1), near.get("jonson"));
+        assertEquals(Integer.valueOf(2), near.get("jonsen"));
+    }
+
+    @Test
+    public void remove_shortWord_notFoundAnyMore() {
+        final WordTrigramIndex index = new WordTrigramIndex();
+        index.add("tim");
+        index.remove("tim");
+        assertTrue(index.getWordsNear("tom", 1).isEmpty());
+    }
+}
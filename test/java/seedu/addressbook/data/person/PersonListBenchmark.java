@@ -0,0 +1,96 @@
+package seedu.addressbook.data.person;
+
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long adding, finding and removing every person of a {@link UniquePersonList} takes, one person at a
+ * time, for lists of several sizes. Each operation should take about the same time per person at every size;
+ * time per person growing with the size of the list means the list scans its persons.
+ *
+ * Run with the compiled sources and tests on the class path, optionally giving the list sizes to measure:
+ * {@code java seedu.addressbook.data.person.PersonListBenchmark [SIZE]...}
+ * Give the JVM enough heap for the largest list, about 400 bytes per person.
+ */
+public class PersonListBenchmark {
+
+    private static final int[] DEFAULT_SIZES = { 10_000, 100_000, 1_000_000 };
+    /** Each size is run this many times before and while measuring. */
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        final int[] sizes = args.length == 0
+                ? DEFAULT_SIZES
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.println(String.format("%10s %12s %12s %12s", "persons", "add ms", "contains ms", "remove ms"));
+        for (int size : sizes) {
+            final List<Person> persons = makePersons(size);
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                measureMillis(persons);
+            }
+            final double[][] millis = new double[3][MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                final double[] run = measureMillis(persons);
+                for (int operation = 0; operation < run.length; operation++) {
+                    millis[operation][i] = run[operation];
+                }
+            }
+            System.out.println(String.format("%10d %12.2f %12.2f %12.2f",
+                    size, median(millis[0]), median(millis[1]), median(millis[2])));
+        }
+    }
+
+    /**
+     * Adds the given persons to a new list, checks that the list contains each of them, then removes them all.
+     *
+     * @return the time taken by each of the three steps, in milliseconds.
+     */
+    private static double[] measureMillis(List<Person> persons) throws Exception {
+        final UniquePersonList list = new UniquePersonList();
+        final long start = System.nanoTime();
+        for (Person person : persons) {
+            list.add(person);
+        }
+        final long added = System.nanoTime();
+        for (Person person : persons) {
+            if (!list.contains(person)) {
+                throw new AssertionError("Added person not found: " + person);
+            }
+        }
+        final long checked = System.nanoTime();
+        for (Person person : persons) {
+            list.remove(person);
+        }
+        final long removed = System.nanoTime();
+        return new double[] { (added - start) / 1e6, (checked - added) / 1e6, (removed - checked) / 1e6 };
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static List<Person> makePersons(int size) throws Exception {
+        final List<Person> persons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            persons.add(new Person(new Name(toLetters(i) + " Tan"),
+                    new Phone(Integer.toString(90_000_000 + i), false), new Email("someone@example.com", false),
+                    new Address("123, Jurong West Ave 6", false), new UniqueTagList()));
+        }
+        return persons;
+    }
+
+    /** Names cannot hold digits, so numbers are spelt in letters. */
+    private static String toLetters(int number) {
+        final StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package seedu.addressbook.data.tag;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+public class TagPoolTest {
+
+    @Test
+    public void intern_afterEarlierCanonicalTagCollected_newCanonicalTagKept() throws Exception {
+        // a name string held elsewhere outlives the first canonical tag, but not the second one
+        final String[] heldName = { new String("pooltest") };
+        final WeakReference<Tag> first = new WeakReference<>(TagPool.intern(new Tag(heldName[0])));
+        awaitCollection(first);
+        final Tag second = TagPool.intern(new Tag(new String("pooltest")));
+        final WeakReference<String> firstName = new WeakReference<>(heldName[0]);
+        heldName[0] = null;
+        awaitCollection(firstName);
+
+        assertSame(second, TagPool.intern("pooltest"));
+    }
+
+    private static void awaitCollection(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+}
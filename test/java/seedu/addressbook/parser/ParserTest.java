@@ -9,7 +9,9 @@ import seedu.addressbook.data.tag.UniqueTagList;
 import seedu.addressbook.data.person.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.*;
@@ -57,7 +59,81 @@ public class ParserTest {
     @Test
     public void listCommand_parsedCorrectly() {
         final String input = "list";
-        parseAndAssertCommandType(input, ListCommand.class);
+        final ListCommand result = parseAndAssertCommandType(input, ListCommand.class);
+        assertNull(result.getTagExpression());
+    }
+
+    @Test
+    public void listCommand_tagExpression_parsedCorrectly() {
+        final String input = "list friends+!colleagues   family !school";
+        final ListCommand result = parseAndAssertCommandType(input, ListCommand.class);
+        assertEquals("friends+!colleagues family !school", result.getTagExpression().toString());
+    }
+
+    @Test
+    public void listCommand_invalidTag_errorMessage() {
+        final String[] inputs = {
+                "list friends+",
+                "list !",
+                "list invalid_-[.tag"
+        };
+        parseAndAssertIncorrectWithMessage(Tag.MESSAGE_TAG_CONSTRAINTS, inputs);
+    }
+
+    @Test
+    public void beginCommand_parsedCorrectly() {
+        final String input = "begin";
+        parseAndAssertCommandType(input, BeginCommand.class);
+    }
+
+    @Test
+    public void commitCommand_parsedCorrectly() {
+        final String input = "commit";
+        parseAndAssertCommandType(input, CommitCommand.class);
+    }
+
+    @Test
+    public void rollbackCommand_parsedCorrectly() {
+        final String input = "rollback";
+        parseAndAssertCommandType(input, RollbackCommand.class);
+    }
+
+    @Test
+    public void statsCommand_parsedCorrectly() {
+        final String input = "stats";
+        parseAndAssertCommandType(input, StatsCommand.class);
+    }
+
+    @Test
+    public void importCommand_noArgs() {
+        final String[] inputs = { "import", "import " };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void importCommand_validArgs_parsedCorrectly() {
+        final String input = "import my contacts.csv ";
+        final ImportCommand result = parseAndAssertCommandType(input, ImportCommand.class);
+        assertEquals("my contacts.csv", result.getFilePath());
+    }
+
+    @Test
+    public void exportCommand_noArgs() {
+        final String[] inputs = { "export", "export ", "export redact", "export redact " };
+        final String resultMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void exportCommand_validArgs_parsedCorrectly() {
+        final ExportCommand plain = parseAndAssertCommandType("export contacts.csv", ExportCommand.class);
+        assertEquals("contacts.csv", plain.getFilePath());
+        assertFalse(plain.isRedacted());
+
+        final ExportCommand redacted = parseAndAssertCommandType("export redact  out.jsonl", ExportCommand.class);
+        assertEquals("out.jsonl", redacted.getFilePath());
+        assertTrue(redacted.isRedacted());
     }
 
     @Test
@@ -176,6 +252,159 @@ public class ParserTest {
         assertEquals(keySet, result.getKeywords());
     }
 
+    @Test
+    public void findCommand_prefixKeywords_parsedCorrectly() {
+        final String input = "find ali* Bob";
+        final FindCommand result =
+                parseAndAssertCommandType(input, FindCommand.class);
+        assertEquals(new HashSet<>(Arrays.asList("ali*", "Bob")), result.getKeywords());
+    }
+
+    /**
+     * Test fuzzy find persons by keyword in name command
+     */
+
+    @Test
+    public void fuzzyFindCommand_invalidArgs() {
+        // no keywords
+        final String[] inputs = {
+                "fuzzyfind",
+                "fuzzyfind "
+        };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FuzzyFindCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void fuzzyFindCommand_validArgs_parsedCorrectly() {
+        final String[] keywords = { "key1", "key2", "key3" };
+        final Set<String> keySet = new HashSet<>(Arrays.asList(keywords));
+
+        final String input = "fuzzyfind " + String.join(" ", keySet);
+        final FuzzyFindCommand result =
+                parseAndAssertCommandType(input, FuzzyFindCommand.class);
+        assertEquals(keySet, result.getKeywords());
+    }
+
+    /**
+     * Test find persons by phone and email commands
+     */
+
+    @Test
+    public void findPhoneCommand_invalidArgs() {
+        final String[] inputs = { "findphone", "findphone ", "findphone --", "findphone 12ab34", "findphone +65 9876" };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindPhoneCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void findPhoneCommand_validArgs_parsedCorrectly() {
+        final String input = "findphone  9876-54 32 ";
+        final FindPhoneCommand result = parseAndAssertCommandType(input, FindPhoneCommand.class);
+        assertEquals("98765432", result.getPhone());
+    }
+
+    @Test
+    public void findPhoneEndCommand_invalidArgs() {
+        final String[] inputs = { "findphoneend", "findphoneend ", "findphoneend --", "findphoneend 54.32" };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindPhoneEndCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void findPhoneEndCommand_validArgs_parsedCorrectly() {
+        final String input = "findphoneend 54-32";
+        final FindPhoneEndCommand result = parseAndAssertCommandType(input, FindPhoneEndCommand.class);
+        assertEquals("5432", result.getDigits());
+    }
+
+    @Test
+    public void findEmailCommand_invalidArgs() {
+        final String[] inputs = { "findemail", "findemail " };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindEmailCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void findEmailCommand_validArgs_parsedCorrectly() {
+        final String input = "findemail JohnD@Gmail.com ";
+        final FindEmailCommand result = parseAndAssertCommandType(input, FindEmailCommand.class);
+        assertEquals("johnd@gmail.com", result.getEmail());
+    }
+
+    @Test
+    public void findAddressCommand_invalidArgs() {
+        // no words, or only punctuation
+        final String[] inputs = { "findaddr", "findaddr ", "findaddr , #-" };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindAddressCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void findAddressCommand_validArgs_parsedCorrectly() {
+        final String input = "findaddr  123, Clementi ";
+        final FindAddressCommand result = parseAndAssertCommandType(input, FindAddressCommand.class);
+        assertEquals("123, Clementi", result.getWords());
+    }
+
+    @Test
+    public void searchCommand_invalidArgs() {
+        // no words, or only punctuation
+        final String[] inputs = { "search", "search ", "search @." };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, SearchCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void searchCommand_validArgs_parsedCorrectly() {
+        final String input = "search John  gmail.com ";
+        final SearchCommand result = parseAndAssertCommandType(input, SearchCommand.class);
+        assertEquals("John  gmail.com", result.getWords());
+    }
+
+    /**
+     * Test find persons by tag command
+     */
+
+    @Test
+    public void findTagCommand_invalidArgs() {
+        // no tags
+        final String[] inputs = {
+                "findtag",
+                "findtag "
+        };
+        final String resultMessage =
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindTagCommand.MESSAGE_USAGE);
+        parseAndAssertIncorrectWithMessage(resultMessage, inputs);
+    }
+
+    @Test
+    public void findTagCommand_invalidTag_errorMessage() {
+        final String[] inputs = {
+                "findtag friends+",
+                "findtag invalid_-[.tag"
+        };
+        parseAndAssertIncorrectWithMessage(Tag.MESSAGE_TAG_CONSTRAINTS, inputs);
+    }
+
+    @Test
+    public void findTagCommand_validArgs_parsedCorrectly() throws Exception {
+        final String input = "findtag friends colleagues+owesMoney friends";
+        final FindTagCommand result =
+                parseAndAssertCommandType(input, FindTagCommand.class);
+        final List<Set<Tag>> expected = Arrays.asList(
+                Collections.singleton(new Tag("friends")),
+                new HashSet<>(Arrays.asList(new Tag("colleagues"), new Tag("owesMoney"))),
+                Collections.singleton(new Tag("friends")));
+        assertEquals(expected, result.getTagGroups());
+    }
+
     /**
      * Test add person command
      */
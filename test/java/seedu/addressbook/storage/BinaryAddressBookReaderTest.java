@@ -0,0 +1,57 @@
+package seedu.addressbook.storage;
+
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class BinaryAddressBookReaderTest {
+
+    @Test
+    public void read_writtenAddressBook_sameAddressBook() throws Exception {
+        final byte[] bytes = write(makeAddressBook());
+        final AddressBook read = BinaryAddressBookReader.read(ByteBuffer.wrap(bytes));
+        assertEquals(1, read.getPersonsView().size());
+        assertEquals(2, read.getTagsView().size());
+    }
+
+    @Test
+    public void read_countLargerThanFile_throwsStorageOperationException() throws Exception {
+        final byte[] bytes = write(makeAddressBook());
+        // the tag count follows the magic bytes and the version byte: claim close to Integer.MAX_VALUE tags
+        final byte[] corrupt = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, corrupt, 0, BinaryAddressBookFormat.MAGIC.length + 1);
+        corrupt[5] = (byte) 0xFF;
+        corrupt[6] = (byte) 0xFF;
+        corrupt[7] = (byte) 0xFF;
+        corrupt[8] = (byte) 0xFF;
+        corrupt[9] = 0x07;
+        try {
+            BinaryAddressBookReader.read(ByteBuffer.wrap(corrupt));
+            fail("a count larger than the file should be rejected");
+        } catch (StorageOperationException soe) {
+            // expected
+        }
+    }
+
+    private static AddressBook makeAddressBook() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addPerson(new Person(new Name("John Doe"), new Phone("98765432", false),
+                new Email("johnd@gmail.com", true), new Address("John street", false),
+                new UniqueTagList(new Tag("friends"), new Tag("colleagues"))));
+        return addressBook;
+    }
+
+    private static byte[] write(AddressBook addressBook) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryAddressBookWriter.write(addressBook, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,169 @@
+package seedu.addressbook.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JournalFileTest {
+
+    private Path storagePath;
+    private Path journalPath;
+
+    @Before
+    public void setup() throws Exception {
+        final Path directory = Files.createTempDirectory("journal-test");
+        storagePath = directory.resolve("addressbook.txt");
+        journalPath = Paths.get(storagePath + JournalFile.JOURNAL_FILE_SUFFIX);
+    }
+
+    @Test
+    public void load_tornLastRecord_nextRecordAppendedOnItsOwnLine() throws Exception {
+        JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        AddressBook addressBook = journal.load();
+        addressBook.addPerson(makePerson("John Doe", "98765432"));
+        addressBook.addPerson(makePerson("Betsy Crowe", "1234567"));
+        journal.close();
+
+        // cut the last record short, as a crash in the middle of a write would
+        final byte[] bytes = Files.readAllBytes(journalPath);
+        Files.write(journalPath, Arrays.copyOf(bytes, bytes.length - 10));
+
+        journal = new JournalFile(new StorageFile(storagePath.toString()));
+        addressBook = journal.load();
+        assertEquals(1, addressBook.getPersonsView().size());
+        addressBook.addPerson(makePerson("Jane Roe", "5551234"));
+        journal.close();
+
+        journal = new JournalFile(new StorageFile(storagePath.toString()));
+        addressBook = journal.load();
+        journal.close();
+        assertEquals(Arrays.asList("John Doe", "Jane Roe"), getNames(addressBook));
+    }
+
+    @Test
+    public void load_lastRecordWithoutLineBreak_notApplied() throws Exception {
+        JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        AddressBook addressBook = journal.load();
+        addressBook.addPerson(makePerson("John Doe", "98765432"));
+        journal.close();
+
+        // only the line break of the last record was lost, so it may have been cut short anywhere
+        final byte[] bytes = Files.readAllBytes(journalPath);
+        Files.write(journalPath, Arrays.copyOf(bytes, bytes.length - 1));
+
+        journal = new JournalFile(new StorageFile(storagePath.toString()));
+        addressBook = journal.load();
+        assertTrue(addressBook.getPersonsView().isEmpty());
+        addressBook.addPerson(makePerson("Jane Roe", "5551234"));
+        journal.close();
+
+        journal = new JournalFile(new StorageFile(storagePath.toString()));
+        addressBook = journal.load();
+        journal.close();
+        assertEquals(Arrays.asList("Jane Roe"), getNames(addressBook));
+    }
+
+    @Test
+    public void load_recordTornInTags_notApplied() throws Exception {
+        JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        AddressBook addressBook = journal.load();
+        addressBook.addPerson(
+                makePerson("John Doe", "98765432", new Tag("friends"), new Tag("owesMoney")));
+        journal.close();
+
+        // the torn record still parses, with a tag cut short
+        final String journalText = new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8);
+        final int tornLength = journalText.indexOf("owesMoney") + "owe".length();
+        Files.write(journalPath, journalText.substring(0, tornLength).getBytes(StandardCharsets.UTF_8));
+
+        journal = new JournalFile(new StorageFile(storagePath.toString()));
+        addressBook = journal.load();
+        journal.close();
+        assertTrue(addressBook.getPersonsView().isEmpty());
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    @Test
+    public void rollbackToSavepoint_changesSinceSavepoint_neitherWrittenNorCounted() throws Exception {
+        final JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        final AddressBook addressBook = journal.load();
+        addressBook.addPerson(makePerson("John Doe", "98765432"));
+        journal.commit();
+        final long savedModificationCount = addressBook.getModificationCount();
+
+        final AddressBook beforeBatch = new AddressBook(addressBook);
+        journal.setSavepoint();
+        addressBook.addPerson(makePerson("Jane Roe", "5551234"));
+        addressBook.clear();
+        addressBook.restore(beforeBatch);
+        journal.rollbackToSavepoint();
+        journal.close();
+
+        assertEquals(savedModificationCount, addressBook.getModificationCount());
+        assertEquals(1, Files.readAllLines(journalPath).size());
+        assertEquals(Arrays.asList("John Doe"), getNames(addressBook));
+    }
+
+    @Test(expected = StorageOperationException.class)
+    public void rollbackToSavepoint_changesCommitted_throws() throws Exception {
+        final JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        final AddressBook addressBook = journal.load();
+        journal.setSavepoint();
+        addressBook.addPerson(makePerson("John Doe", "98765432"));
+        journal.commit();
+        journal.rollbackToSavepoint();
+    }
+
+    @Test
+    public void commit_compactionFails_changesStillCommitted() throws Exception {
+        final JournalFile journal = new JournalFile(new StorageFile(storagePath.toString()));
+        final AddressBook addressBook = journal.load();
+        // a directory in the way of setting the journal aside
+        final Path compactingPath = Paths.get(journalPath + JournalFile.COMPACTING_FILE_SUFFIX);
+        Files.createDirectories(compactingPath.resolve("blocker"));
+        journal.setSavepoint();
+        for (int i = 0; i < JournalFile.COMPACTION_THRESHOLD; i++) {
+            addressBook.addPerson(makePerson("John Doe", Integer.toString(10_000_000 + i)));
+        }
+        try {
+            journal.commit();
+            fail("compaction should have failed");
+        } catch (JournalFile.CompactionFailedException cfe) {
+            // expected
+        }
+        assertEquals(JournalFile.COMPACTION_THRESHOLD, Files.readAllLines(journalPath).size());
+        try {
+            journal.rollbackToSavepoint();
+            fail("committed changes should not be rolled back");
+        } catch (StorageOperationException soe) {
+            // expected
+        }
+    }
+
+    private static Person makePerson(String name, String phone, Tag... tags) throws Exception {
+        return new Person(new Name(name), new Phone(phone, false), new Email("someone@example.com", false),
+                new Address("123, Jurong West Ave 6", false), new UniqueTagList(tags));
+    }
+
+    private static List<String> getNames(AddressBook addressBook) {
+        final List<String> names = new ArrayList<>();
+        for (ReadOnlyPerson person : addressBook.getPersonsView()) {
+            names.add(person.getName().fullName);
+        }
+        return names;
+    }
+}
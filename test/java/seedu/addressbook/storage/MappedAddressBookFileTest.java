@@ -0,0 +1,108 @@
+package seedu.addressbook.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.Tag;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedAddressBookFileTest {
+
+    private Path path;
+
+    @Before
+    public void setup() throws Exception {
+        path = Files.createTempDirectory("mapped-test").resolve("addressbook.bin");
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addPerson(makePerson("John Doe", "98765432", "friends"));
+        addressBook.addPerson(makePerson("Betsy Crowe", "1234567"));
+        addressBook.addPerson(makePerson("Johnny Walker", "5551234", "friends", "colleagues"));
+        new StorageFile(path.toString()).save(addressBook);
+    }
+
+    @Test
+    public void asList_allPersonsInFileOrder() throws Exception {
+        final MappedAddressBookFile mappedFile = MappedAddressBookFile.open(path);
+        assertEquals(3, mappedFile.size());
+        assertEquals(Arrays.asList("John Doe", "Betsy Crowe", "Johnny Walker"), getNames(mappedFile.asList()));
+        assertEquals(2, mappedFile.getPerson(2).getTags().size());
+    }
+
+    @Test
+    public void findPersonsWithNameMatchingAnyKeyword_matchesLikeAddressBook() throws Exception {
+        final MappedAddressBookFile mappedFile = MappedAddressBookFile.open(path);
+        final AddressBook loaded = new StorageFile(path.toString()).load();
+        for (List<String> keywords : Arrays.asList(
+                Arrays.asList("john"), Arrays.asList("JOHN*"), Arrays.asList("b*", "walker"), Arrays.asList("bob"))) {
+            assertEquals(getNames(loaded.findPersonsWithNameMatchingAnyKeyword(keywords)),
+                    getNames(mappedFile.findPersonsWithNameMatchingAnyKeyword(keywords)));
+        }
+    }
+
+    @Test
+    public void findPersonsWithNameMatchingAnyKeyword_scannedInParallel_sameAsSerial() throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        final String[] surnames = { "Doe", "Crowe", "Walker" };
+        for (int i = 0; i < MappedAddressBookFile.SCAN_CHUNK_SIZE * 5; i++) {
+            addressBook.addPerson(makePerson(toLetters(i) + " " + surnames[i % surnames.length],
+                    Integer.toString(10_000_000 + i)));
+        }
+        new StorageFile(path.toString()).save(addressBook);
+        final MappedAddressBookFile mappedFile = MappedAddressBookFile.open(path);
+        final List<String> keywords = Arrays.asList("walker", "ab*");
+
+        final List<ReadOnlyPerson> serial = mappedFile.findPersonsWithNameMatchingAnyKeyword(keywords, Long.MAX_VALUE);
+        assertEquals(getNames(addressBook.findPersonsWithNameMatchingAnyKeyword(keywords)), getNames(serial));
+        assertEquals(getNames(serial), getNames(mappedFile.findPersonsWithNameMatchingAnyKeyword(keywords, 0)));
+    }
+
+    @Test
+    public void open_countLargerThanFile_throwsStorageOperationException() throws Exception {
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[5] = 0x7F; // the tag count, right after the magic bytes and the version byte
+        Files.write(path, Arrays.copyOf(bytes, 20));
+        try {
+            MappedAddressBookFile.open(path);
+            fail("a count larger than the file should be rejected");
+        } catch (StorageOperationException soe) {
+            // expected
+        }
+    }
+
+    private static Person makePerson(String name, String phone, String... tags) throws Exception {
+        final List<Tag> tagList = new ArrayList<>();
+        for (String tag : tags) {
+            tagList.add(new Tag(tag));
+        }
+        return new Person(new Name(name), new Phone(phone, false), new Email("someone@example.com", false),
+                new Address("123, Jurong West Ave 6", false), new UniqueTagList(tagList));
+    }
+
+    /** Names cannot hold digits, so numbers are spelt in letters. */
+    private static String toLetters(int number) {
+        final StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+
+    private static List<String> getNames(List<? extends ReadOnlyPerson> persons) {
+        final List<String> names = new ArrayList<>();
+        for (ReadOnlyPerson person : persons) {
+            names.add(person.getName().fullName);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,106 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures {@link MappedAddressBookFile#findPersonsWithNameMatchingAnyKeyword(Collection)} scanning on the calling
+ * thread against scanning in parallel, for files of several sizes, next to the time taken by the scan as it chooses
+ * between the two with {@link MappedAddressBookFile#getParallelScanCutoffNanos()}. The automatic choice should be
+ * close to the faster of the two at every size.
+ *
+ * Run with the compiled sources and tests on the class path, optionally giving the numbers of persons to measure:
+ * {@code java seedu.addressbook.storage.MappedFindBenchmark [SIZE]...}
+ * Each file is written to a temporary directory first. Give the JVM enough heap to save the largest address book,
+ * about 400 bytes per person, e.g. {@code -Xmx6g} for 10,000,000 persons.
+ */
+public class MappedFindBenchmark {
+
+    private static final int[] DEFAULT_SIZES = { 10_000, 100_000, 1_000_000 };
+    /** Each way of scanning is run this many times per size before and while measuring. */
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 11;
+    /** Matches one person in eight, as the keyword of a typical search would. */
+    private static final List<String> KEYWORDS = Arrays.asList("Johnson");
+
+    public static void main(String[] args) throws Exception {
+        final int[] sizes = args.length == 0
+                ? DEFAULT_SIZES
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.println("Common pool parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+        final long cutoffNanos = MappedAddressBookFile.getParallelScanCutoffNanos();
+        System.out.println(cutoffNanos == Long.MAX_VALUE
+                ? "Scans never run in parallel with a single pool thread."
+                : String.format("Scans estimated to take longer than %.3f ms run in parallel.", cutoffNanos / 1e6));
+
+        final Path directory = Files.createTempDirectory("mapped-find-benchmark");
+        final StorageFile storage = new StorageFile(directory.resolve("addressbook.bin").toString());
+        System.out.println(String.format("%10s %12s %12s %12s", "persons", "serial ms", "parallel ms", "auto ms"));
+        try {
+            for (int size : sizes) {
+                storage.save(makeAddressBook(size));
+                final MappedAddressBookFile mappedFile = storage.openMapped();
+                final double serial = medianMillis(
+                        () -> mappedFile.findPersonsWithNameMatchingAnyKeyword(KEYWORDS, Long.MAX_VALUE));
+                final double parallel = medianMillis(
+                        () -> mappedFile.findPersonsWithNameMatchingAnyKeyword(KEYWORDS, 0));
+                final double automatic = medianMillis(
+                        () -> mappedFile.findPersonsWithNameMatchingAnyKeyword(KEYWORDS));
+                System.out.println(String.format("%10d %12.2f %12.2f %12.2f", size, serial, parallel, automatic));
+            }
+        } finally {
+            Files.deleteIfExists(storage.path);
+            Files.delete(directory);
+        }
+    }
+
+    private static double medianMillis(Runnable run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        final double[] millis = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long start = System.nanoTime();
+            run.run();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    private static AddressBook makeAddressBook(int size) throws Exception {
+        final String[] surnames = { "Lee", "Tan", "Johnson", "Ng", "Dickson", "Lim", "Wong", "Anderson" };
+        final List<Person> persons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            persons.add(new Person(new Name(toLetters(i) + " " + surnames[i % surnames.length]),
+                    new Phone(Integer.toString(90_000_000 + i), false), new Email("someone@example.com", false),
+                    new Address("123, Jurong West Ave 6", false), new UniqueTagList()));
+        }
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addPersons(persons);
+        return addressBook;
+    }
+
+    /** Names cannot hold digits, so numbers are spelt in letters. */
+    private static String toLetters(int number) {
+        final StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+}
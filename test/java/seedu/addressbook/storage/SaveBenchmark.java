@@ -0,0 +1,90 @@
+package seedu.addressbook.storage;
+
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.Address;
+import seedu.addressbook.data.person.Email;
+import seedu.addressbook.data.person.Name;
+import seedu.addressbook.data.person.Person;
+import seedu.addressbook.data.person.Phone;
+import seedu.addressbook.data.tag.UniqueTagList;
+import seedu.addressbook.storage.StorageFile.Durability;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Measures how long {@link StorageFile#save(AddressBook)} takes at each {@link Durability} level, for address books
+ * of several sizes. Saves go to a temporary directory, so run it on the file system the data file is kept on:
+ * the cost of {@link Durability#FSYNC} depends mostly on the storage device.
+ *
+ * Run with the compiled sources and tests on the class path, optionally giving the address book sizes to measure:
+ * {@code java seedu.addressbook.storage.SaveBenchmark [SIZE]...}
+ * Set the {@code java.io.tmpdir} system property to measure another file system.
+ */
+public class SaveBenchmark {
+
+    private static final int[] DEFAULT_SIZES = { 100, 1_000, 10_000 };
+    /** Each durability level saves this many times per size before and while measuring. */
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 51;
+
+    public static void main(String[] args) throws Exception {
+        final int[] sizes = args.length == 0
+                ? DEFAULT_SIZES
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        final Path directory = Files.createTempDirectory("save-benchmark");
+        final StorageFile storage = new StorageFile(directory.resolve("addressbook.txt").toString());
+
+        System.out.println("Saving in " + directory);
+        System.out.println(String.format("%10s %12s %12s %12s", "persons", "none ms", "flush ms", "fsync ms"));
+        try {
+            for (int size : sizes) {
+                final AddressBook addressBook = makeAddressBook(size);
+                final StringBuilder row = new StringBuilder(String.format("%10d", size));
+                for (Durability durability : Durability.values()) {
+                    storage.setDurability(durability);
+                    row.append(String.format(" %12.2f", medianMillis(storage, addressBook)));
+                }
+                System.out.println(row);
+            }
+        } finally {
+            Files.deleteIfExists(storage.path);
+            Files.delete(directory);
+        }
+    }
+
+    private static double medianMillis(StorageFile storage, AddressBook addressBook) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            storage.save(addressBook);
+        }
+        final double[] millis = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long start = System.nanoTime();
+            storage.save(addressBook);
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[MEASURED_RUNS / 2];
+    }
+
+    private static AddressBook makeAddressBook(int size) throws Exception {
+        final AddressBook addressBook = new AddressBook();
+        for (int i = 0; i < size; i++) {
+            addressBook.addPerson(new Person(new Name(toLetters(i) + " Tan"),
+                    new Phone(Integer.toString(90_000_000 + i), false), new Email("someone@example.com", false),
+                    new Address("123, Jurong West Ave 6", false), new UniqueTagList()));
+        }
+        return addressBook;
+    }
+
+    /** Names cannot hold digits, so numbers are spelt in letters. */
+    private static String toLetters(int number) {
+        final StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return letters.toString();
+    }
+}
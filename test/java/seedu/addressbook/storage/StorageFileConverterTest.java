@@ -0,0 +1,27 @@
+package seedu.addressbook.storage;
+
+import org.junit.Test;
+import seedu.addressbook.storage.StorageFile.StorageOperationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class StorageFileConverterTest {
+
+    @Test
+    public void convert_missingSource_throwsAndCreatesNoFiles() throws Exception {
+        final Path directory = Files.createTempDirectory("converter-test");
+        final Path source = directory.resolve("missing.txt");
+        final Path target = directory.resolve("converted.bin");
+        try {
+            StorageFileConverter.convert(new StorageFile(source.toString()), new StorageFile(target.toString()));
+            fail("a missing source should be rejected");
+        } catch (StorageOperationException soe) {
+            // expected
+        }
+        assertFalse(Files.exists(source));
+        assertFalse(Files.exists(target));
+    }
+}
@@ -0,0 +1,41 @@
+package seedu.addressbook.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.person.*;
+import seedu.addressbook.data.tag.UniqueTagList;
+
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindPersisterTest {
+
+    private StorageFile storage;
+
+    @Before
+    public void setup() throws Exception {
+        storage = new StorageFile(Files.createTempDirectory("persister-test").resolve("addressbook.txt").toString());
+    }
+
+    @Test
+    public void flush_submittedSnapshots_allSavedAndLastVersionRecorded() throws Exception {
+        final WriteBehindPersister persister = new WriteBehindPersister(storage);
+        assertEquals(0, persister.getQueueDepth());
+        assertEquals(-1, persister.getLastPersistedVersion());
+
+        final AddressBook addressBook = new AddressBook();
+        addressBook.addPerson(new Person(new Name("John Doe"), new Phone("98765432", false),
+                new Email("johnd@gmail.com", false), new Address("John street", false), new UniqueTagList()));
+        persister.submit(new AddressBook(addressBook));
+        addressBook.addPerson(new Person(new Name("Betsy Crowe"), new Phone("1234567", false),
+                new Email("betsycrowe@gmail.com", false), new Address("Newgate Prison", false), new UniqueTagList()));
+        persister.submit(new AddressBook(addressBook));
+        persister.close();
+
+        assertEquals(0, persister.getQueueDepth());
+        assertEquals(addressBook.getModificationCount(), persister.getLastPersistedVersion());
+        assertEquals(2, storage.load().getPersonsView().size());
+    }
+}
@@ -0,0 +1,39 @@
+package seedu.addressbook.storage;
+
+import org.junit.Test;
+import seedu.addressbook.data.AddressBook;
+import seedu.addressbook.data.tag.UniqueTagList.DuplicateTagException;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class XmlAddressBookReaderTest {
+
+    private static final String PERSON = "<persons>"
+            + "<name>John Doe</name>"
+            + "<phone isPrivate=\"false\">98765432</phone>"
+            + "<email isPrivate=\"true\">johnd@gmail.com</email>"
+            + "<address isPrivate=\"false\">John street</address>"
+            + "<tagged>friends</tagged>"
+            + "</persons>";
+
+    @Test
+    public void read_masterTagsAndTagsOfPersons_allTagsKept() throws Exception {
+        final AddressBook addressBook = XmlAddressBookReader.read(new StringReader(
+                "<AddressBook>" + PERSON + "<tags>friends</tags><tags>colleagues</tags></AddressBook>"));
+        assertEquals(1, addressBook.getPersonsView().size());
+        assertEquals(2, addressBook.getTagsView().size());
+    }
+
+    @Test
+    public void read_duplicateMasterTag_throwsDuplicateTagException() throws Exception {
+        try {
+            XmlAddressBookReader.read(new StringReader(
+                    "<AddressBook>" + PERSON + "<tags>friends</tags><tags>friends</tags></AddressBook>"));
+            fail("duplicate master tags should be rejected");
+        } catch (DuplicateTagException dte) {
+            // expected
+        }
+    }
+}